@@ -0,0 +1,106 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Synthetic, reproducible datasets shaped like references and commits of large repositories.
+ */
+final class BenchmarkData {
+    private static final String[] TAG_PREFIXES = {"v", "release-", "rc-", "git-parameter-", ""};
+    private static final String[] BRANCH_PREFIXES = {"feature/", "bugfix/", "release/", "hotfix/", ""};
+    private static final String[] WORDS = {"Fix", "Add", "cache", "listing", "tags", "performance", "of", "the",
+            "branch", "filter", "revision", "parameter", "Jenkins", "remote", "workspace", "improve"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Tag names like {@code v1.12.3}, {@code release-4.2.10} or {@code rc-0.9.14}
+     */
+    static Set<String> tagNames(int size) {
+        Random random = new Random(size);
+        Set<String> tags = new LinkedHashSet<>(size * 2);
+        while (tags.size() < size) {
+            String prefix = TAG_PREFIXES[random.nextInt(TAG_PREFIXES.length)];
+            tags.add(prefix + random.nextInt(20) + "." + random.nextInt(50) + "." + random.nextInt(size));
+        }
+        return tags;
+    }
+
+    /**
+     * Branch references like {@code refs/heads/feature/JENKINS-12345-cache}
+     */
+    static List<String> branchRefs(int size) {
+        Random random = new Random(size);
+        Set<String> refs = new LinkedHashSet<>(size * 2);
+        refs.add("refs/heads/master");
+        while (refs.size() < size) {
+            String prefix = BRANCH_PREFIXES[random.nextInt(BRANCH_PREFIXES.length)];
+            refs.add("refs/heads/" + prefix + "JENKINS-" + random.nextInt(size * 10) + "-" + WORDS[random.nextInt(WORDS.length)]);
+        }
+        return new ArrayList<>(refs);
+    }
+
+    /**
+     * References with the names as listed by ls-remote, like {@code refs/tags/v1.12.3}
+     */
+    static Map<String, ObjectId> references(String prefix, Collection<String> names) {
+        Random random = new Random(names.size());
+        Map<String, ObjectId> references = new LinkedHashMap<>(names.size() * 2);
+        for (String name : names) {
+            references.put(prefix + name, ObjectId.fromString(sha1(random)));
+        }
+        return references;
+    }
+
+    /**
+     * Raw commits as returned by {@code git show --format=raw}
+     */
+    static List<List<String>> rawCommits(int size) {
+        Random random = new Random(size);
+        List<List<String>> commits = new ArrayList<>(size);
+        long timestamp = 1523905899L;
+        for (int i = 0; i < size; i++) {
+            List<String> raw = new ArrayList<>();
+            raw.add("commit " + sha1(random));
+            raw.add("tree " + sha1(random));
+            raw.add("parent " + sha1(random));
+            raw.add("author klimas7 <klimas7@gmail.com> " + (timestamp - i * 3600L) + " +0200");
+            raw.add("committer klimas7 <klimas7@gmail.com> " + (timestamp - i * 3600L) + " +0200");
+            raw.add("");
+            raw.add("    " + sentence(random, 3 + random.nextInt(8)));
+            raw.add("");
+            raw.add("    " + sentence(random, 10 + random.nextInt(30)));
+            commits.add(raw);
+        }
+        return commits;
+    }
+
+    static String sha1(Random random) {
+        StringBuilder sha1 = new StringBuilder(40);
+        for (int i = 0; i < 40; i++) {
+            sha1.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return sha1.toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Branch filter applied to remote heads: {@link GitParameterDefinition#filterBranches} alone and within the first
+ * listing of the branches of a remote
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BranchFilterBenchmark {
+    @Param({"1000", "10000", "100000", "500000"})
+    public int size;
+
+    @Param({".*", "origin/(feature/.*)"})
+    public String branchFilter;
+
+    private GitParameterDefinition definition;
+    private Map<String, ObjectId> heads;
+
+    @Setup
+    public void setUp() {
+        definition = new GitParameterDefinition("BRANCH", "PT_BRANCH", null, null, null, branchFilter, null,
+                SortMode.NONE, SelectedValue.TOP, null, false);
+        heads = BenchmarkData.references("", BenchmarkData.branchRefs(size));
+    }
+
+    @Benchmark
+    public Map<String, String> filterBranches() {
+        return definition.filterBranches(heads.keySet(), "origin");
+    }
+
+    @Benchmark
+    public List<String> firstListing() throws Exception {
+        return new RefSnapshot(RefOrdering.UNSORTED).update(heads,
+                changed -> definition.filterBranches(changed.keySet(), "origin"), 0);
+    }
+}
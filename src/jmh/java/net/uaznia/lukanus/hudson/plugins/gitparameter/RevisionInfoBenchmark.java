@@ -0,0 +1,56 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing of raw commits and formatting of revision descriptions: {@link RevisionInfoFactory}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevisionInfoBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<List<String>> rawCommits;
+
+    @Setup
+    public void setUp() {
+        rawCommits = BenchmarkData.rawCommits(size);
+    }
+
+    @Benchmark
+    public void prettyRevisionInfo(Blackhole blackhole) {
+        for (List<String> raw : rawCommits) {
+            String shortSha1 = raw.get(0).substring(7, 14);
+            String authorLine = RevisionInfoFactory.getAuthorLine(raw);
+            String commitMessage = RevisionInfoFactory.getCommitMessage(raw);
+            blackhole.consume(RevisionInfoFactory.prettyRevisionInfo(shortSha1, null, authorLine, commitMessage));
+        }
+    }
+
+    @Benchmark
+    public void parseRawCommit(Blackhole blackhole) {
+        for (List<String> raw : rawCommits) {
+            blackhole.consume(RevisionInfoFactory.getAuthorLine(raw));
+            blackhole.consume(RevisionInfoFactory.getCommitMessage(raw));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Single comparisons of {@link SmartNumberStringComparer}, over neighbouring pairs of tag names
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmartNumberStringComparerBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final SmartNumberStringComparer comparer = new SmartNumberStringComparer();
+    private String[] tags;
+
+    @Setup
+    public void setUp() {
+        List<String> tagList = new ArrayList<>(BenchmarkData.tagNames(size));
+        tags = tagList.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void compare(Blackhole blackhole) {
+        for (int i = 1; i < tags.length; i++) {
+            blackhole.consume(comparer.compare(tags[i - 1], tags[i]));
+        }
+    }
+}
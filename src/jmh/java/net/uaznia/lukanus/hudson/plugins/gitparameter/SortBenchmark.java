@@ -0,0 +1,82 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting of listed tags by {@link RefSnapshot#update}: the first listing of a remote, a listing without changes
+ * and a listing with one pushed tag. Maximum Items of 0 lists all tags.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortBenchmark {
+    @Param({"1000", "10000", "100000", "500000"})
+    public int size;
+
+    @Param({"ASCENDING", "DESCENDING_SMART", "RC_THEN_RELEASE", "DESCENDING_SEMVER"})
+    public String sortMode;
+
+    @Param({"0", "1", "100"})
+    public int maxItems;
+
+    private RefOrdering ordering;
+    private Map<String, ObjectId> tags;
+    private Map<String, ObjectId> pushed;
+    private RefSnapshot listed;
+    private boolean push;
+
+    @Setup
+    public void setUp() throws Exception {
+        ordering = SortMode.valueOf(sortMode).getOrdering();
+        tags = BenchmarkData.references("refs/tags/", BenchmarkData.tagNames(size));
+        pushed = new LinkedHashMap<>(tags);
+        pushed.put("refs/tags/v99.99.99", ObjectId.zeroId());
+        listed = new RefSnapshot(ordering);
+        listed.update(tags, SortBenchmark::tagNames, maxItems);
+    }
+
+    @Benchmark
+    public List<String> firstListing() throws Exception {
+        return new RefSnapshot(ordering).update(tags, SortBenchmark::tagNames, maxItems);
+    }
+
+    @Benchmark
+    public List<String> unchangedListing() throws Exception {
+        return listed.update(tags, SortBenchmark::tagNames, maxItems);
+    }
+
+    @Benchmark
+    public List<String> pushedTagListing() throws Exception {
+        // The pushed tag is added by one invocation and removed by the next one
+        push = !push;
+        return listed.update(push ? pushed : tags, SortBenchmark::tagNames, maxItems);
+    }
+
+    private static Map<String, String> tagNames(Map<String, ObjectId> changed) {
+        Map<String, String> names = new HashMap<>();
+        for (String tag : changed.keySet()) {
+            names.put(tag, tag.substring("refs/tags/".length()));
+        }
+        return names;
+    }
+}
@@ -5,6 +5,19 @@ import java.util.regex.Pattern;
 public class Consts {
     public static final String DEFAULT_LIST_SIZE = "5";
     public static final String DEFAULT_REMOTE = "origin";
+    public static final int DEFAULT_CACHE_TIME_TO_LIVE = 60;
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 200;
+    public static final int DEFAULT_WORKSPACE_LOCK_TIMEOUT = 120;
+    public static final int DEFAULT_MIRROR_CACHE_QUOTA = 10240;
+    public static final int DEFAULT_REMOTE_THREADS = 4;
+    public static final int DEFAULT_REMOTE_TIMEOUT = 60;
+    public static final int DEFAULT_SEMVER_CACHE_SIZE = 50000;
+    public static final int DEFAULT_SNAPSHOT_CACHE_SIZE = 100;
+    public static final int QUICK_FILTER_LIMIT = 1000;
+    public static final int DEFAULT_PREWARM_THREADS = 2;
+    public static final int DEFAULT_PREWARM_MIN_INTERVAL = 60;
+    public static final int DEFAULT_PREWARM_INTERVAL = 0;
+    public static final int PREWARM_QUEUE_SIZE = 100;
     public static final String REFS_TAGS_PATTERN = ".*refs/tags/";
 
     public static final String PARAMETER_TYPE_TAG = "PT_TAG";
@@ -16,6 +29,7 @@ public class Consts {
     public static final Pattern PULL_REQUEST_REFS_PATTERN = Pattern.compile("refs/pull.*/(\\d+)/[from|head]");
 
     public static final String TEMPORARY_DIRECTORY_PREFIX = "git_parameter_";
+    public static final String MIRROR_CACHE_DIRECTORY = "caches/git-parameter";
     public static final String EMPTY_JOB_NAME = "EMPTY_JOB_NAME";
 
     public static boolean isParameterTypeCorrect(String type) {
@@ -3,10 +3,13 @@ package net.uaznia.lukanus.hudson.plugins.gitparameter;
 import java.io.IOException;
 
 import hudson.FilePath;
+import net.uaznia.lukanus.hudson.plugins.gitparameter.cache.MirrorCache;
+import org.eclipse.jgit.lib.Repository;
 
 public class FilePathWrapper {
     private final FilePath filePath;
     private Boolean isTemporary = false;
+    private MirrorCache.Mirror mirror;
 
     public FilePathWrapper(FilePath filePath) {
         this.filePath = filePath;
@@ -16,6 +19,33 @@ public class FilePathWrapper {
         isTemporary = true;
     }
 
+    /**
+     * Workspace is a bare mirror from the cache, mirror is released on {@link #delete()}
+     */
+    public void setThatMirror(MirrorCache.Mirror mirror) {
+        this.mirror = mirror;
+    }
+
+    public boolean isMirror() {
+        return mirror != null;
+    }
+
+    /**
+     * @return shared repository of the mirror, null for other workspaces
+     */
+    public Repository getMirrorRepository() throws IOException {
+        return mirror != null ? mirror.getRepository() : null;
+    }
+
+    /**
+     * Records the size of the mirror after a fetch, other workspaces are not counted
+     */
+    public void updateMirrorSize() {
+        if (mirror != null) {
+            mirror.updateSize();
+        }
+    }
+
     public FilePath getFilePath() {
         return filePath;
     }
@@ -24,5 +54,8 @@ public class FilePathWrapper {
         if (isTemporary) {
             filePath.deleteRecursive();
         }
+        if (mirror != null) {
+            mirror.close();
+        }
     }
 }
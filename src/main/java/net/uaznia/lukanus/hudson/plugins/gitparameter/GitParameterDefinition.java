@@ -1,18 +1,30 @@
 package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
 import hudson.plugins.git.Revision;
+import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -34,20 +46,31 @@ import hudson.model.ParametersDefinitionProperty;
 import hudson.model.Run;
 import hudson.model.StringParameterDefinition;
 import hudson.model.TaskListener;
-import hudson.model.TopLevelItem;
 import hudson.plugins.git.GitException;
 import hudson.plugins.git.GitSCM;
+import hudson.plugins.git.UserRemoteConfig;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import jenkins.model.Jenkins;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
+import net.uaznia.lukanus.hudson.plugins.gitparameter.cache.MirrorCache;
+import net.uaznia.lukanus.hudson.plugins.gitparameter.cache.ReferencesCache;
 import net.uaznia.lukanus.hudson.plugins.gitparameter.jobs.JobWrapper;
 import net.uaznia.lukanus.hudson.plugins.gitparameter.jobs.JobWrapperFactory;
 import net.uaznia.lukanus.hudson.plugins.gitparameter.model.ItemsErrorModel;
 import net.uaznia.lukanus.hudson.plugins.gitparameter.scms.RepoSCM;
+import org.acegisecurity.Authentication;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.RemoteConfig;
 import org.eclipse.jgit.transport.URIish;
 import org.jenkinsci.Symbol;
@@ -62,12 +85,23 @@ import org.kohsuke.stapler.StaplerRequest;
 import static hudson.util.FormValidation.*;
 import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.*;
 import static net.uaznia.lukanus.hudson.plugins.gitparameter.Messages.*;
-import static net.uaznia.lukanus.hudson.plugins.gitparameter.scms.SCMFactory.getGitSCMs;
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.scms.SCMFactory.getMatchingGitSCMs;
 import static org.apache.commons.lang.StringUtils.*;
 
 public class GitParameterDefinition extends ParameterDefinition implements Comparable<GitParameterDefinition> {
     private static final long serialVersionUID = 9157832967140868122L;
     private static final Logger LOGGER = Logger.getLogger(GitParameterDefinition.class.getName());
+    private static final WorkspaceLocks WORKSPACE_LOCKS = new WorkspaceLocks(
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".workspaceLockTimeout", DEFAULT_WORKSPACE_LOCK_TIMEOUT), TimeUnit.SECONDS);
+    private static final int REMOTE_THREADS = Math.max(1,
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".remoteThreads", DEFAULT_REMOTE_THREADS));
+    private static final int REMOTE_TIMEOUT =
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".remoteTimeout", DEFAULT_REMOTE_TIMEOUT);
+    private static final ExecutorService REMOTE_EXECUTOR = createRemoteExecutor();
+    // Marks a use repository which is blank or not valid, it is not compiled again
+    private static final Pattern INVALID_PATTERN = Pattern.compile("");
+    private static final List<RefSpec> MIRROR_REF_SPECS = Arrays.asList(
+            new RefSpec("+refs/heads/*:refs/heads/*"), new RefSpec("+refs/tags/*:refs/tags/*"));
 
     private final UUID uuid;
     private String type;
@@ -81,6 +115,16 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
     private Boolean quickFilterEnabled;
     private String listSize;
     private Boolean requiredParameter;
+    private Integer maxRevisions;
+    private Integer pageSize;
+    private Integer maxItems;
+    private Boolean decorateTags;
+    private RepositoryReader repositoryReader;
+
+    // Compiled on the first use, cleared by the setters
+    private transient volatile Pattern branchFilterPattern;
+    private transient volatile Pattern tagFilterPattern;
+    private transient volatile Pattern useRepositoryPattern;
 
     @DataBoundConstructor
     public GitParameterDefinition(String name, String type, String defaultValue, String description, String branch,
@@ -166,12 +210,12 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         switch (getSelectedValue()) {
             case TOP:
                 try {
-                    ItemsErrorModel valueItems = getDescriptor().doFillValueItems(getParentJob(), getName());
-                    if (valueItems.size() > 0) {
-                        return new GitParameterValue(getName(), valueItems.get(0).value);
+                    String topValue = getDescriptor().getTopValue(getParentJob(), this);
+                    if (topValue != null) {
+                        return new GitParameterValue(getName(), topValue);
                     }
                 } catch (Exception e) {
-                    LOGGER.log(Level.SEVERE, getCustomeJobName() + " " + Messages.GitParameterDefinition_unexpectedError(), e);
+                    LOGGER.log(Level.WARNING, getCustomeJobName() + " " + Messages.GitParameterDefinition_topValueFailed(), e);
                 }
                 break;
             case DEFAULT:
@@ -220,6 +264,7 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
             tagFilter = "*";
         }
         this.tagFilter = tagFilter;
+        this.tagFilterPattern = null;
     }
 
     public String getDefaultValue() {
@@ -240,6 +285,7 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         }
 
         this.branchFilter = branchFilter;
+        this.branchFilterPattern = null;
     }
 
     public String getListSize() {
@@ -260,6 +306,58 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         this.requiredParameter = requiredParameter;
     }
 
+    public int getMaxRevisions() {
+        return maxRevisions == null ? 0 : maxRevisions;
+    }
+
+    @DataBoundSetter
+    public void setMaxRevisions(int maxRevisions) {
+        this.maxRevisions = Math.max(0, maxRevisions);
+    }
+
+    public int getPageSize() {
+        return pageSize == null ? 0 : pageSize;
+    }
+
+    @DataBoundSetter
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(0, pageSize);
+    }
+
+    public int getMaxItems() {
+        return maxItems == null ? 0 : maxItems;
+    }
+
+    @DataBoundSetter
+    public void setMaxItems(int maxItems) {
+        this.maxItems = Math.max(0, maxItems);
+    }
+
+    public boolean isDecorateTags() {
+        return decorateTags == null || decorateTags;
+    }
+
+    @DataBoundSetter
+    public void setDecorateTags(boolean decorateTags) {
+        this.decorateTags = decorateTags;
+    }
+
+    /**
+     * @return name of the reader, empty when the global reader is used
+     */
+    public String getRepositoryReader() {
+        return repositoryReader == null ? EMPTY : repositoryReader.name();
+    }
+
+    @DataBoundSetter
+    public void setRepositoryReader(String repositoryReader) {
+        this.repositoryReader = isBlank(repositoryReader) ? null : RepositoryReader.valueOf(repositoryReader.trim());
+    }
+
+    RepositoryReader getEffectiveRepositoryReader() {
+        return repositoryReader != null ? repositoryReader : getDescriptor().getRepositoryReader();
+    }
+
     public SelectedValue getSelectedValue() {
         return selectedValue == null ? SelectedValue.TOP : selectedValue;
     }
@@ -269,86 +367,402 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
     }
 
     public Job getParentJob() {
-        Job context = null;
-        List<Job> jobs = Jenkins.get().getAllItems(Job.class);
+        return ParentJobIndex.get().getParentJob(this);
+    }
+
+    UUID getUuid() {
+        return uuid;
+    }
+
+    private static ExecutorService createRemoteExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REMOTE_THREADS, REMOTE_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "GitParameter remote"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 
-        for (Job job : jobs) {
-            if (!(job instanceof TopLevelItem)) continue;
+    @SuppressFBWarnings(value="EQ_COMPARETO_USE_OBJECT_EQUALS")
+    public int compareTo(GitParameterDefinition pd) {
+        return pd.uuid.equals(uuid) ? 0 : -1;
+    }
+
+    public ItemsErrorModel generateContents(JobWrapper jobWrapper, List<GitSCM> scms) {
+        try {
+            return generateContents(getRemoteContents(jobWrapper, scms));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, getCustomeJobName() + " " + Messages.GitParameterDefinition_unexpectedError(), e);
+            return ItemsErrorModel.create(getDefaultValue(), GitParameterDefinition_returnDefaultValue(), GitParameterDefinition_error(), e.getMessage(), GitParameterDefinition_lookAtLog(), GitParameterDefinition_checkConfiguration());
+        }
+    }
 
-            ParametersDefinitionProperty property = (ParametersDefinitionProperty) job.getProperty(ParametersDefinitionProperty.class);
+    /**
+     * The first value of {@link #generateContents(JobWrapper, List)}, without listing and sorting all values.
+     * Only the top tag is described and only the newest revision is read.
+     *
+     * @return the first value or null when there are no values
+     */
+    String generateTopValue(JobWrapper jobWrapper, List<GitSCM> scms) throws Exception {
+        for (RemoteContents remote : getRemoteContents(jobWrapper, scms)) {
+            String top = remote.resolveTop();
+            if (top != null) {
+                return top;
+            }
+        }
+        return null;
+    }
 
-            if (property != null) {
-                List<ParameterDefinition> parameterDefinitions = property.getParameterDefinitions();
+    private List<RemoteContents> getRemoteContents(JobWrapper jobWrapper, List<GitSCM> scms) throws IOException, InterruptedException {
+        EnvVars environment = getEnvironment(jobWrapper);
+        List<RemoteContents> remotes = new ArrayList<>();
+        Set<String> usedRepository = new HashSet<>();
+        for (GitSCM git : scms) {
+            for (RemoteConfig repository : git.getRepositories()) {
+                for (URIish remoteURL : repository.getURIs()) {
+
+                    String gitUrl = Util.replaceMacro(remoteURL.toPrivateASCIIString(), environment);
+                    if (notMatchUseRepository(gitUrl) || usedRepository.contains(gitUrl)) {
+                        continue;
+                    }
+                    remotes.add(new RemoteContents(jobWrapper, git, environment, repository, remoteURL, gitUrl));
 
-                if (parameterDefinitions != null) {
-                    for (ParameterDefinition pd : parameterDefinitions) {
-                        if (pd instanceof GitParameterDefinition && ((GitParameterDefinition) pd).compareTo(this) == 0) {
-                            context = job;
-                            break;
-                        }
+                    if (isBlank(useRepository)) {
+                        return remotes;
                     }
+                    usedRepository.add(gitUrl);
                 }
             }
         }
+        return remotes;
+    }
 
-        return context;
+    /**
+     * Remotes are asked in parallel, values are merged in the order of remotes.
+     * A remote which fails or does not answer in time is reported as an error, values of other remotes are returned.
+     * The failure of a single remote is thrown, its default value is listed.
+     * <p>
+     * The time of a remote is counted from the start of its task, not from the submit, so remotes queued behind
+     * other requests are not timed out. A remote which did not answer in time is not interrupted, a clone or fetch
+     * of a mirror finishes in the background and the next request reads the filled mirror.
+     */
+    private ItemsErrorModel generateContents(List<RemoteContents> remotes) throws Exception {
+        final Authentication authentication = Jenkins.getAuthentication();
+        List<RemoteTask> tasks = new ArrayList<>(remotes.size());
+        try {
+            for (final RemoteContents remote : remotes) {
+                RemoteTask task = new RemoteTask(() -> {
+                    try (ACLContext ignored = ACL.as(authentication)) {
+                        return remote.call();
+                    }
+                });
+                REMOTE_EXECUTOR.execute(task);
+                tasks.add(task);
+            }
+
+            Map<String, String> paramList = new LinkedHashMap<>();
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < remotes.size(); i++) {
+                String remoteName = remotes.get(i).getRemoteName();
+                try {
+                    paramList.putAll(tasks.get(i).get(TimeUnit.SECONDS.toNanos(REMOTE_TIMEOUT)));
+                    errors.addAll(remotes.get(i).getErrors());
+                } catch (TimeoutException e) {
+                    LOGGER.log(Level.WARNING, getCustomeJobName() + " " + Messages.GitParameterDefinition_remoteTimeout(remoteName, REMOTE_TIMEOUT));
+                    errors.add(Messages.GitParameterDefinition_remoteTimeout(remoteName, REMOTE_TIMEOUT));
+                } catch (ExecutionException e) {
+                    if (remotes.size() == 1 && e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    LOGGER.log(Level.SEVERE, getCustomeJobName() + " " + Messages.GitParameterDefinition_unexpectedError(), e.getCause());
+                    errors.add(Messages.GitParameterDefinition_remoteFailed(remoteName, e.getCause().getMessage()));
+                }
+            }
+
+            ItemsErrorModel items = convertMapToListBox(paramList);
+            for (String error : errors) {
+                items.addError(error);
+            }
+            return items;
+        } finally {
+            for (RemoteTask task : tasks) {
+                //Queued remotes are dropped, running ones finish
+                task.cancel(false);
+            }
+        }
     }
 
-    @SuppressFBWarnings(value="EQ_COMPARETO_USE_OBJECT_EQUALS")
-    public int compareTo(GitParameterDefinition pd) {
-        return pd.uuid.equals(uuid) ? 0 : -1;
+    /**
+     * Task of one remote which knows when it started
+     */
+    private static final class RemoteTask extends FutureTask<Map<String, String>> {
+        private volatile boolean started;
+        private volatile long startTime;
+
+        private RemoteTask(Callable<Map<String, String>> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            startTime = System.nanoTime();
+            started = true;
+            super.run();
+        }
+
+        /**
+         * Waits while the task is queued and at most the timeout after it started
+         */
+        private Map<String, String> get(long timeoutNanos) throws InterruptedException, ExecutionException, TimeoutException {
+            while (true) {
+                long remaining = started ? startTime + timeoutNanos - System.nanoTime() : timeoutNanos;
+                try {
+                    return get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (started && startTime + timeoutNanos - System.nanoTime() <= 0) {
+                        throw e;
+                    }
+                }
+            }
+        }
     }
 
-    public ItemsErrorModel generateContents(JobWrapper jobWrapper, List<GitSCM> scms) {
-        try {
+    /**
+     * Values of one remote URL
+     */
+    private final class RemoteContents implements Callable<Map<String, String>> {
+        private final JobWrapper jobWrapper;
+        private final GitSCM git;
+        private final EnvVars environment;
+        private final RemoteConfig repository;
+        private final URIish remoteURL;
+        private final String gitUrl;
+        private final List<String> errors = new ArrayList<>();
+
+        private RemoteContents(JobWrapper jobWrapper, GitSCM git, EnvVars environment, RemoteConfig repository, URIish remoteURL, String gitUrl) {
+            this.jobWrapper = jobWrapper;
+            this.git = git;
+            this.environment = environment;
+            this.repository = repository;
+            this.remoteURL = remoteURL;
+            this.gitUrl = gitUrl;
+        }
+
+        /**
+         * Remote URL without the password, it is shown to the user
+         */
+        private String getRemoteName() {
+            return remoteURL.toString();
+        }
+
+        /**
+         * Failures of a part of the values, read after {@link #call()}, the other values are listed
+         */
+        private List<String> getErrors() {
+            return errors;
+        }
+
+        @Override
+        public Map<String, String> call() throws Exception {
             Map<String, String> paramList = new LinkedHashMap<>();
-            EnvVars environment = getEnvironment(jobWrapper);
-            Set<String> usedRepository = new HashSet<>();
-            outForLoops:
-            for (GitSCM git : scms) {
-                for (RemoteConfig repository : git.getRepositories()) {
-                    GitClient gitClient = getGitClient(jobWrapper, null, git, environment);
-                    for (URIish remoteURL : repository.getURIs()) {
-
-                        String gitUrl = Util.replaceMacro(remoteURL.toPrivateASCIIString(), environment);
-                        if (notMatchUseRepository(gitUrl) || usedRepository.contains(gitUrl)) {
-                            continue;
-                        }
-
-                        if (isTagType(type)) {
-                            Set<String> tagSet = getTagsAndInitWorkspace(jobWrapper, git, paramList, environment, repository, remoteURL, gitUrl);
-                            sortAndPutToParam(tagSet, paramList);
-                        }
-
-                        if (isBranchType(type)) {
-                            Set<String> branchSet = getBranch(gitClient, gitUrl, repository.getName());
-                            sortAndPutToParam(branchSet, paramList);
-                        }
-
-
-                        if (isPullRequestType(type)) {
-                            Set<String> pullRequestSet = getPullRequest(gitClient, gitUrl);
-                            sortAndPutToParam(pullRequestSet, paramList);
-                        }
-
-                        if (isRevisionType(type)) {
-                            synchronized (GitParameterDefinition.class) {
-                                getRevision(jobWrapper, git, paramList, environment, repository, remoteURL);
-                            }
-                        }
-
-                        if (isBlank(useRepository)) {
-                            break outForLoops;
-                        }
-                        usedRepository.add(gitUrl);
+            GitClient gitClient = getGitClient(jobWrapper, null, git, environment);
+            //One ref advertisement per remote, shared by tags, branches and pull requests
+            RemoteReferences remoteReferences = new RemoteReferences(gitClient, gitUrl);
+
+            if (isTagType(type)) {
+                try {
+                    putToParam(listTags(remoteReferences), paramList);
+                } catch (GitException e) {
+                    //The snapshot keeps the tags of the last listing, the error keeps the list out of the cache
+                    LOGGER.log(Level.WARNING, getCustomeJobName() + " " + Messages.GitParameterDefinition_getTag(), e);
+                    errors.add(Messages.GitParameterDefinition_remoteFailed(getRemoteName(), e.getMessage()));
+                }
+            }
+
+            if (isBranchType(type)) {
+                putToParam(listBranches(remoteReferences, getMaxItems()), paramList);
+            }
+
+            if (isPullRequestType(type)) {
+                putToParam(listPullRequests(remoteReferences, getMaxItems()), paramList);
+            }
+
+            if (isRevisionType(type)) {
+                getRevision(jobWrapper, git, paramList, environment, repository, remoteURL, gitUrl, getMaxRevisions());
+            }
+            return paramList;
+        }
+
+        /**
+         * Tags sorted by the snapshot, only the added and moved tags are described, the workspace is not fetched
+         * when no tag changed
+         */
+        private List<String> listTags(RemoteReferences remoteReferences) throws Exception {
+            Map<String, ObjectId> tags = remoteReferences.getTagsMatching(getTagFilterPattern());
+            if (!isDecorateTags()) {
+                //Tag names are listed by ls-remote, local repository is not needed
+                return listTagNames(tags, getMaxItems());
+            }
+            return getSnapshot("decoratedTags").update(tags, changed -> getTagsAndInitWorkspace(jobWrapper, git,
+                    environment, repository, remoteURL, gitUrl, changed), getMaxItems());
+        }
+
+        private List<String> listTagNames(Map<String, ObjectId> tags, int limit) throws Exception {
+            return getSnapshot("tags").update(tags, changed -> {
+                Map<String, String> names = new HashMap<>();
+                for (String tag : changed.keySet()) {
+                    names.put(tag, toTagName(tag));
+                }
+                return names;
+            }, limit);
+        }
+
+        private List<String> listBranches(RemoteReferences remoteReferences, int limit) throws Exception {
+            String remoteName = repository.getName();
+            return getSnapshot("branches").update(remoteReferences.getHeads(),
+                    changed -> filterBranches(changed.keySet(), remoteName), limit);
+        }
+
+        private List<String> listPullRequests(RemoteReferences remoteReferences, int limit) throws Exception {
+            return getSnapshot("pullRequests").update(remoteReferences.getAll(), changed -> {
+                Map<String, String> numbers = new HashMap<>();
+                for (String reference : changed.keySet()) {
+                    Matcher matcher = PULL_REQUEST_REFS_PATTERN.matcher(reference);
+                    numbers.put(reference, matcher.find() ? matcher.group(1) : null);
+                }
+                return numbers;
+            }, limit);
+        }
+
+        /**
+         * Snapshot of the remote for this configuration, values of one reference are the same for all parameters
+         * with the same key
+         */
+        private RefSnapshot getSnapshot(String kind) {
+            String key = kind + '|' + gitUrl + '|' + repository.getName() + '|' + branch + '|' + branchFilter + '|'
+                    + tagFilter + '|' + getSortMode().name();
+            return RefSnapshot.of(key, getSortMode().getOrdering());
+        }
+
+        /**
+         * The first value of {@link #call()}, taken from the same snapshots, so the order of the list is kept.
+         * Before the tags are listed, only the first tag name is described, decorated tags start with the name.
+         */
+        private String resolveTop() throws Exception {
+            GitClient gitClient = getGitClient(jobWrapper, null, git, environment);
+            RemoteReferences remoteReferences = new RemoteReferences(gitClient, gitUrl);
+
+            if (isTagType(type)) {
+                Map<String, ObjectId> tags = remoteReferences.getTagsMatching(getTagFilterPattern());
+                RefSnapshot decoratedTags = getSnapshot("decoratedTags");
+                if (isDecorateTags() && !decoratedTags.isEmpty()) {
+                    //The listed tags are described already, only changed tags are described again
+                    String tag = first(decoratedTags.update(tags, changed -> getTagsAndInitWorkspace(jobWrapper, git,
+                            environment, repository, remoteURL, gitUrl, changed), 1));
+                    if (tag != null) {
+                        return tag;
+                    }
+                }
+                String tagName = first(listTagNames(tags, 1));
+                if (tagName != null) {
+                    if (!isDecorateTags()) {
+                        return tagName;
+                    }
+                    Map<String, ObjectId> tagReference = remoteReferences.only(Constants.R_TAGS + tagName).getAll();
+                    String tag = first(new ArrayList<>(getTagsAndInitWorkspace(jobWrapper, git, environment, repository, remoteURL, gitUrl, tagReference).values()));
+                    if (tag != null) {
+                        return tag;
                     }
                 }
             }
-            return convertMapToListBox(paramList);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, getCustomeJobName() + " " + Messages.GitParameterDefinition_unexpectedError(), e);
-            return ItemsErrorModel.create(getDefaultValue(), GitParameterDefinition_returnDefaultValue(), GitParameterDefinition_error(), e.getMessage(), GitParameterDefinition_lookAtLog(), GitParameterDefinition_checkConfiguration());
+
+            if (isBranchType(type)) {
+                String branchName = first(listBranches(remoteReferences, 1));
+                if (branchName != null) {
+                    return branchName;
+                }
+            }
+
+            if (isPullRequestType(type)) {
+                String pullRequest = first(listPullRequests(remoteReferences, 1));
+                if (pullRequest != null) {
+                    return pullRequest;
+                }
+            }
+
+            if (isRevisionType(type)) {
+                Map<String, String> paramList = new LinkedHashMap<>();
+                getRevision(jobWrapper, git, paramList, environment, repository, remoteURL, gitUrl, 1);
+                if (!paramList.isEmpty()) {
+                    return paramList.keySet().iterator().next();
+                }
+            }
+            return null;
+        }
+
+        private String first(List<String> values) {
+            return values.isEmpty() ? null : values.get(0);
+        }
+    }
+
+    /**
+     * Key of the cached contents, two definitions with the same key generate the same contents.
+     * The key holds no password of the remote URL.
+     */
+    String getReferencesCacheKey(JobWrapper jobWrapper, List<GitSCM> scms) {
+        StringBuilder key = new StringBuilder();
+        for (GitSCM git : scms) {
+            for (UserRemoteConfig remoteConfig : git.getUserRemoteConfigs()) {
+                appendKeyPart(key, jobWrapper, remoteConfig.getName());
+                String url = remoteConfig.getUrl();
+                if (url != null && url.contains("$")) {
+                    key.append(jobWrapper.getJobName()).append('@');
+                }
+                appendKeyPart(key, jobWrapper, toKeyUrl(url));
+                String credentialsId = remoteConfig.getCredentialsId();
+                if (isNotBlank(credentialsId)) {
+                    //Credentials are looked up from the job, folders can have other credentials with the same id
+                    key.append(jobWrapper.getJob().getParent().getFullName()).append('@');
+                }
+                appendKeyPart(key, jobWrapper, credentialsId);
+            }
+        }
+        appendKeyPart(key, jobWrapper, type);
+        appendKeyPart(key, jobWrapper, branch);
+        appendKeyPart(key, jobWrapper, branchFilter);
+        appendKeyPart(key, jobWrapper, tagFilter);
+        appendKeyPart(key, jobWrapper, getSortMode().name());
+        appendKeyPart(key, jobWrapper, useRepository);
+        appendKeyPart(key, jobWrapper, String.valueOf(getMaxRevisions()));
+        appendKeyPart(key, jobWrapper, String.valueOf(getMaxItems()));
+        appendKeyPart(key, jobWrapper, String.valueOf(isDecorateTags()));
+        return key.toString();
+    }
+
+    /**
+     * User info of the URL is replaced by its digest, remotes with other users still have other keys
+     */
+    private static String toKeyUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            URIish uri = new URIish(url);
+            if (uri.getUser() == null && uri.getPass() == null) {
+                return url;
+            }
+            String userInfo = Util.getDigestOf(uri.getUser() + ':' + uri.getPass());
+            return uri.setUser(null).setPass(null).toString() + '#' + userInfo;
+        } catch (URISyntaxException e) {
+            return Util.getDigestOf(url);
+        }
+    }
+
+    private void appendKeyPart(StringBuilder key, JobWrapper jobWrapper, String part) {
+        if (part != null && part.contains("$")) {
+            //Value depends on the job environment
+            key.append(jobWrapper.getJobName()).append('@');
         }
+        key.append(part).append('|');
     }
 
     private ItemsErrorModel convertMapToListBox(Map<String, String> paramList) {
@@ -360,52 +774,103 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
     }
 
     private boolean notMatchUseRepository(String gitUrl) {
-        if (isBlank(useRepository)) {
-            return false;
-        }
-        Pattern repositoryNamePattern;
-        try {
-            repositoryNamePattern = Pattern.compile(useRepository);
-        } catch (Exception e) {
-            LOGGER.log(Level.INFO, Messages.GitParameterDefinition_invalidUseRepositoryPattern(useRepository), e.getMessage());
-            return false;
+        Pattern repositoryNamePattern = getUseRepositoryPattern();
+        return repositoryNamePattern != null && !repositoryNamePattern.matcher(gitUrl).find();
+    }
+
+    /**
+     * @return compiled use repository, null when it is blank or not valid
+     */
+    Pattern getUseRepositoryPattern() {
+        Pattern pattern = useRepositoryPattern;
+        if (pattern == null) {
+            pattern = INVALID_PATTERN;
+            if (isNotBlank(useRepository)) {
+                try {
+                    pattern = Pattern.compile(useRepository);
+                } catch (Exception e) {
+                    LOGGER.log(Level.INFO, Messages.GitParameterDefinition_invalidUseRepositoryPattern(useRepository), e.getMessage());
+                }
+            }
+            useRepositoryPattern = pattern;
         }
-        return !repositoryNamePattern.matcher(gitUrl).find();
+        return pattern == INVALID_PATTERN ? null : pattern;
     }
 
-    private Set<String> getTagsAndInitWorkspace(JobWrapper jobWrapper,
-        GitSCM git, Map<String, String> paramList,
+    /**
+     * @return described tags by the tag reference
+     */
+    private Map<String, String> getTagsAndInitWorkspace(JobWrapper jobWrapper,
+        GitSCM git,
         EnvVars environment, RemoteConfig repository,
-        URIish remoteURL,
-        String gitUrl
+        URIish remoteURL, String gitUrl,
+        Map<String, ObjectId> tags
     ) throws IOException, InterruptedException {
         boolean isRepoScm = RepoSCM.isRepoSCM(repository.getName());
-        FilePathWrapper workspace = getWorkspace(jobWrapper, isRepoScm);
-
-        GitClient gitClient = getGitClient(jobWrapper, workspace, git, environment);
-        initWorkspace(workspace, gitClient, remoteURL);
-        FetchCommand fetch = gitClient.fetch_().prune().from(remoteURL, repository.getFetchRefSpecs());
-        fetch.execute();
-
-        Set<String> tags = getTag(gitClient, gitUrl);
-
-        workspace.delete();
+        FilePathWrapper workspace = getWorkspace(jobWrapper, isRepoScm, gitUrl);
+        try {
+            Lock lock = lockWorkspace(workspace);
+            try {
+                GitClient gitClient = getGitClient(jobWrapper, workspace, git, environment);
+                initWorkspace(workspace, gitClient, remoteURL);
+                fetchWorkspace(workspace, gitClient, repository, remoteURL);
 
-        return tags;
+                return describeTags(gitClient, getSharedRepository(workspace), tags);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            workspace.delete();
+        }
     }
 
-    private Set<String> getTag(GitClient gitClient, String gitUrl) throws InterruptedException {
-        Set<String> tagSet = new HashSet<>();
+    /**
+     * Tags which can not be described are missing in the result
+     *
+     * @return tag names with their descriptions by the tag reference
+     */
+    private Map<String, String> describeTags(GitClient gitClient, Repository repository, Map<String, ObjectId> tags) throws InterruptedException {
+        Map<String, String> described = new HashMap<>();
         try {
-            Map<String, ObjectId> tags = gitClient.getRemoteReferences(gitUrl, tagFilter, false, true);
+            Map<ObjectId, String> descriptions = getTagDescriptions(gitClient, repository, tags.values());
             for (Map.Entry<String, ObjectId> tagEntry : tags.entrySet()) {
-                tagSet.add(tagEntry.getKey().replaceFirst(REFS_TAGS_PATTERN, "")
-                               + " " + toTagWithRevision(tagEntry.getValue(), gitClient));
+                String description = descriptions != null ? descriptions.get(tagEntry.getValue()) : null;
+                if (description == null) {
+                    description = toTagWithRevision(tagEntry.getValue(), gitClient);
+                }
+                described.put(tagEntry.getKey(), toTagName(tagEntry.getKey()) + " " + description);
             }
         } catch (GitException e) {
             LOGGER.log(Level.WARNING, getCustomeJobName() + " " + Messages.GitParameterDefinition_getTag(), e);
         }
-        return tagSet;
+        return described;
+    }
+
+    private static String toTagName(String tagReference) {
+        return tagReference.replaceFirst(REFS_TAGS_PATTERN, "");
+    }
+
+    /**
+     * Describes all tags with one walk over the fetched repository.
+     *
+     * @param repository shared repository read in this process, null means the repository of the git client
+     * @return descriptions or null when the repository is not accessible or the CLI reader is selected,
+     * then tags are described one by one
+     */
+    private Map<ObjectId, String> getTagDescriptions(GitClient gitClient, Repository repository, Collection<ObjectId> objectIds) throws InterruptedException {
+        if (getEffectiveRepositoryReader() == RepositoryReader.CLI) {
+            return null;
+        }
+        try {
+            TagInfoReader tagInfoReader = new TagInfoReader(objectIds);
+            if (repository != null) {
+                return tagInfoReader.invoke(repository, null);
+            }
+            return gitClient.withRepository(tagInfoReader);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, getCustomeJobName() + " " + Messages.GitParameterDefinition_readTagsInOnePassFailed(), e);
+            return null;
+        }
     }
 
     private String toTagWithRevision(ObjectId objectId, GitClient gitClient) {
@@ -414,47 +879,52 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         return revisionInfoFactory.prettyRevisionInfo(revision, gitClient);
     }
 
-    private Set<String> getBranch(GitClient gitClient, String gitUrl, String remoteName) throws Exception {
-        Set<String> branchSet = new HashSet<>();
-        Pattern branchFilterPattern = compileBranchFilterPattern();
-
-        Map<String, ObjectId> branches = gitClient.getRemoteReferences(gitUrl, null, true, false);
-        Iterator<String> remoteBranchesName = branches.keySet().iterator();
-        while (remoteBranchesName.hasNext()) {
-            String branchName = strip(remoteBranchesName.next(), remoteName);
-            Matcher matcher = branchFilterPattern.matcher(branchName);
-            if (matcher.matches()) {
-                if (matcher.groupCount() == 1) {
-                    branchSet.add(matcher.group(1));
-                } else {
-                    branchSet.add(branchName);
-                }
-            }
+    /**
+     * @param refNames   branch references: {@code refs/heads/master}
+     * @param remoteName name of the remote, branches are matched as {@code origin/master}
+     * @return listed branch names by the branch reference, null for a branch which does not match the branch filter
+     */
+    Map<String, String> filterBranches(Collection<String> refNames, String remoteName) {
+        Map<String, String> branchNames = new HashMap<>();
+        Matcher matcher = getBranchFilterPattern().matcher("");
+        for (String refName : refNames) {
+            branchNames.put(refName, filterBranch(matcher, refName, remoteName));
         }
-        return branchSet;
+        return branchNames;
     }
 
-    private Set<String> getPullRequest(GitClient gitClient, String gitUrl) throws Exception {
-        Set<String> pullRequestSet = new HashSet<>();
-        Map<String, ObjectId> remoteReferences = gitClient.getRemoteReferences(gitUrl, null, false, false);
-        for (String remoteReference : remoteReferences.keySet()) {
-            Matcher matcher = PULL_REQUEST_REFS_PATTERN.matcher(remoteReference);
-            if (matcher.find()) {
-                pullRequestSet.add(matcher.group(1));
+    /**
+     * @return the listed branch name, null when the branch does not match the filter
+     */
+    private String filterBranch(Matcher matcher, String refName, String remoteName) {
+        String branchName = strip(refName, remoteName);
+        if (!matcher.reset(branchName).matches()) {
+            return null;
+        }
+        return matcher.groupCount() == 1 ? matcher.group(1) : branchName;
+    }
+
+    Pattern getBranchFilterPattern() {
+        Pattern pattern = branchFilterPattern;
+        if (pattern == null) {
+            try {
+                pattern = Pattern.compile(branchFilter);
+            } catch (Exception e) {
+                LOGGER.log(Level.INFO, getCustomeJobName() + " " + Messages.GitParameterDefinition_branchFilterNotValid(), e.getMessage());
+                pattern = Pattern.compile(".*");
             }
+            branchFilterPattern = pattern;
         }
-        return pullRequestSet;
+        return pattern;
     }
 
-    private Pattern compileBranchFilterPattern() {
-        Pattern branchFilterPattern;
-        try {
-            branchFilterPattern = Pattern.compile(branchFilter);
-        } catch (Exception e) {
-            LOGGER.log(Level.INFO, getCustomeJobName() + " " + Messages.GitParameterDefinition_branchFilterNotValid(), e.getMessage());
-            branchFilterPattern = Pattern.compile(".*");
+    private Pattern getTagFilterPattern() {
+        Pattern pattern = tagFilterPattern;
+        if (pattern == null) {
+            pattern = RemoteReferences.compileTailPattern(isEmpty(tagFilter) ? "*" : tagFilter);
+            tagFilterPattern = pattern;
         }
-        return branchFilterPattern;
+        return pattern;
     }
 
     //hudson.plugins.git.Branch.strip
@@ -465,90 +935,97 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
     /**
      * Unfortunately, to get the revisions should do fetch
      */
-    private void getRevision(JobWrapper jobWrapper, GitSCM git, Map<String, String> paramList, EnvVars environment, RemoteConfig repository, URIish remoteURL) throws IOException, InterruptedException {
+    private void getRevision(JobWrapper jobWrapper, GitSCM git, Map<String, String> paramList, EnvVars environment, RemoteConfig repository, URIish remoteURL, String gitUrl, int maxRevisions) throws IOException, InterruptedException {
         boolean isRepoScm = RepoSCM.isRepoSCM(repository.getName());
-        FilePathWrapper workspace = getWorkspace(jobWrapper, isRepoScm);
-
-        GitClient gitClient = getGitClient(jobWrapper, workspace, git, environment);
-        initWorkspace(workspace, gitClient, remoteURL);
-        FetchCommand fetch = gitClient.fetch_().prune().from(remoteURL, repository.getFetchRefSpecs());
-        fetch.execute();
+        FilePathWrapper workspace = getWorkspace(jobWrapper, isRepoScm, gitUrl);
+        try {
+            Lock lock = lockWorkspace(workspace);
+            try {
+                GitClient gitClient = getGitClient(jobWrapper, workspace, git, environment);
+                initWorkspace(workspace, gitClient, remoteURL);
+                fetchWorkspace(workspace, gitClient, repository, remoteURL);
 
-        RevisionInfoFactory revisionInfoFactory = new RevisionInfoFactory(gitClient, branch);
-        List<RevisionInfo> revisions = revisionInfoFactory.getRevisions();
+                RevisionInfoFactory revisionInfoFactory = new RevisionInfoFactory(gitClient, branch, maxRevisions,
+                        getEffectiveRepositoryReader(), getSharedRepository(workspace));
+                List<RevisionInfo> revisions = revisionInfoFactory.getRevisions();
 
-        for (RevisionInfo revision : revisions) {
-            paramList.put(revision.getSha1(), revision.getRevisionInfo());
+                for (RevisionInfo revision : revisions) {
+                    paramList.put(revision.getSha1(), revision.getRevisionInfo());
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            workspace.delete();
         }
-
-        workspace.delete();
     }
 
-
-    private void sortAndPutToParam(Set<String> setElement, Map<String, String> paramList) {
-        List<String> sorted = sort(setElement);
-
-        for (String element : sorted) {
-            paramList.put(element, element);
+    /**
+     * Repository of a mirror is opened once and read in this process by the JGit reader
+     *
+     * @return shared repository or null, then the repository is opened by the git client
+     */
+    private Repository getSharedRepository(FilePathWrapper workspace) {
+        if (getEffectiveRepositoryReader() != RepositoryReader.JGIT) {
+            return null;
+        }
+        try {
+            return workspace.getMirrorRepository();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, getCustomeJobName() + " " + Messages.GitParameterDefinition_openMirrorFailed(), e);
+            return null;
         }
     }
 
-    private ArrayList<String> sort(Set<String> toSort) {
-        ArrayList<String> sorted;
+    /**
+     * Workspace is shared between jobs requests, git operations on it must not overlap
+     */
+    private Lock lockWorkspace(FilePathWrapper workspace) throws IOException, InterruptedException {
+        return WORKSPACE_LOCKS.lock(workspace.getFilePath().getRemote());
+    }
 
-        if (this.getSortMode().getIsSorting()) {
-            sorted = sortByName(toSort);
-            if (this.getSortMode().getIsDescending()) {
-                Collections.reverse(sorted);
-            }
-            if (this.getSortMode().equals(SortMode.RC_THEN_RELEASE)) {
-                Collections.reverse(sorted);
-                ArrayList<String> rcList = new ArrayList<>();
-                ArrayList<String> releaseList = new ArrayList<>();
-                ArrayList<String> otherList = new ArrayList<>();
-                ArrayList<String> concatList = new ArrayList<>();
 
-                for (String tag : sorted) {
-                    if (tag.startsWith("rc")) {
-                        rcList.add(tag);
-                    } else if (tag.startsWith("release")) {
-                        releaseList.add(tag);
-                    } else {
-                        otherList.add(tag);
-                    }
-                }
-                concatList.addAll(rcList);
-                concatList.addAll(releaseList);
-                concatList.addAll(otherList);
-                return concatList;
-            }
-        } else {
-            sorted = new ArrayList<>(toSort);
+    private void putToParam(List<String> sorted, Map<String, String> paramList) {
+        for (String element : sorted) {
+            paramList.put(element, element);
         }
-        return sorted;
     }
 
     boolean startsWith(String pattern, String str) {
         return str.startsWith(pattern);
     }
 
-    private FilePathWrapper getWorkspace(JobWrapper jobWrapper, boolean isRepoScm) throws IOException, InterruptedException {
+    private FilePathWrapper getWorkspace(JobWrapper jobWrapper, boolean isRepoScm, String gitUrl) throws IOException, InterruptedException {
         FilePathWrapper someWorkspace = new FilePathWrapper(jobWrapper.getSomeWorkspace());
         if (isRepoScm) {
             FilePath repoDir = new FilePath(someWorkspace.getFilePath(), RepoSCM.getRepoMainfestsDir());
             if (repoDir.exists()) {
                 someWorkspace = new FilePathWrapper(repoDir);
             } else {
-                someWorkspace = getTemporaryWorkspace();
+                someWorkspace = getMirrorWorkspace(gitUrl);
             }
         } else if (someWorkspace.getFilePath() == null) {
-            someWorkspace = getTemporaryWorkspace();
+            someWorkspace = getMirrorWorkspace(gitUrl);
         }
         someWorkspace.getFilePath().mkdirs();
         //Must by not null and exist
         return someWorkspace;
     }
 
+    /**
+     * Bare mirror of the remote from the controller cache, temporary workspace when the cache is disabled
+     */
+    private FilePathWrapper getMirrorWorkspace(String gitUrl) throws IOException {
+        MirrorCache mirrorCache = getDescriptor().getMirrorCache();
+        if (!mirrorCache.isEnabled()) {
+            return getTemporaryWorkspace();
+        }
+        MirrorCache.Mirror mirror = mirrorCache.acquire(gitUrl);
+        FilePathWrapper filePathWrapper = new FilePathWrapper(new FilePath(mirror.getDirectory()));
+        filePathWrapper.setThatMirror(mirror);
+        return filePathWrapper;
+    }
+
     private FilePathWrapper getTemporaryWorkspace() throws IOException {
         Path temporaryWorkspacePath = Files.createTempDirectory(TEMPORARY_DIRECTORY_PREFIX);
         FilePath filePath = new FilePath(temporaryWorkspacePath.toFile());
@@ -611,12 +1088,31 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
 
     private void initWorkspace(FilePathWrapper workspace, GitClient gitClient, URIish remoteURL) throws IOException, InterruptedException {
         if (isEmptyWorkspace(workspace.getFilePath())) {
+            if (workspace.isMirror()) {
+                //Content is downloaded by the fetch. Bare repository is placed in .git directory,
+                //so it can be opened by GitClient.withRepository as well.
+                FilePath gitDir = new FilePath(workspace.getFilePath(), Constants.DOT_GIT);
+                gitClient.init_().workspace(gitDir.getRemote()).bare(true).execute();
+                LOGGER.log(Level.INFO, getCustomeJobName() + " " + Messages.GitParameterDefinition_genContentsMirrorCreated());
+                return;
+            }
             gitClient.init();
             gitClient.clone(remoteURL.toASCIIString(), DEFAULT_REMOTE, false, null);
             LOGGER.log(Level.INFO, getCustomeJobName() + " " + Messages.GitParameterDefinition_genContentsCloneDone());
         }
     }
 
+    private void fetchWorkspace(FilePathWrapper workspace, GitClient gitClient, RemoteConfig repository, URIish remoteURL) throws InterruptedException {
+        List<RefSpec> refSpecs = new ArrayList<>(repository.getFetchRefSpecs());
+        if (workspace.isMirror()) {
+            //Bare mirror has no clone, local branches and tags are fetched too
+            refSpecs.addAll(MIRROR_REF_SPECS);
+        }
+        FetchCommand fetch = gitClient.fetch_().prune().from(remoteURL, refSpecs);
+        fetch.execute();
+        workspace.updateMirrorSize();
+    }
+
     private boolean isEmptyWorkspace(FilePath workspaceDir) throws IOException, InterruptedException {
         return workspaceDir.list().size() == 0;
     }
@@ -627,19 +1123,6 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         return git.createClient(TaskListener.NULL, environment, build, workspace != null ? workspace.getFilePath() : null);
     }
 
-    public ArrayList<String> sortByName(Set<String> set) {
-
-        ArrayList<String> tags = new ArrayList<>(set);
-
-        if (getSortMode().getIsUsingSmartSort()) {
-            Collections.sort(tags, new SmartNumberStringComparer());
-        } else {
-            Collections.sort(tags);
-        }
-
-        return tags;
-    }
-
     public String getDivUUID() {
         StringBuilder randomSelectName = new StringBuilder();
         randomSelectName.append(getName().replaceAll("\\W", "_")).append("-").append(uuid);
@@ -657,6 +1140,7 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
 
     public void setUseRepository(String useRepository) {
         this.useRepository = isBlank(useRepository) ? null : useRepository;
+        this.useRepositoryPattern = null;
     }
 
     public String getCustomeJobName() {
@@ -669,9 +1153,17 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
     @Extension
     public static class DescriptorImpl extends ParameterDescriptor {
         private boolean showNeedToCloneInformation = true;
+        private int cacheTimeToLive = DEFAULT_CACHE_TIME_TO_LIVE;
+        private int cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
+        private int mirrorCacheQuota = DEFAULT_MIRROR_CACHE_QUOTA;
+        private RepositoryReader repositoryReader = RepositoryReader.JGIT;
+        private transient ReferencesCache referencesCache;
+        private transient MirrorCache mirrorCache;
 
         public DescriptorImpl() {
             load();
+            referencesCache = new ReferencesCache(cacheTimeToLive, TimeUnit.SECONDS, cacheMaxEntries);
+            mirrorCache = new MirrorCache(new File(Jenkins.get().getRootDir(), MIRROR_CACHE_DIRECTORY), mirrorCacheQuota);
         }
 
         @Override
@@ -689,18 +1181,79 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
                     GitParameterDefinition paramDef = (GitParameterDefinition) def;
 
                     String repositoryName = paramDef.getUseRepository();
-                    List<GitSCM> scms = getGitSCMs(jobWrapper, repositoryName);
+                    List<GitSCM> scms = getMatchingGitSCMs(jobWrapper, paramDef.getUseRepositoryPattern());
                     if (scms == null || scms.isEmpty()) {
                         String useRepositoryMessage = getUseRepositoryMessage(repositoryName);
                         return ItemsErrorModel.create(paramDef.getDefaultValue(), GitParameterDefinition_returnDefaultValue(), GitParameterDefinition_noRepositoryConfigured(), useRepositoryMessage, GitParameterDefinition_checkConfiguration());
                     }
 
-                    return paramDef.generateContents(jobWrapper, scms);
+                    String cacheKey = paramDef.getReferencesCacheKey(jobWrapper, scms);
+                    return referencesCache.get(cacheKey, jobWrapper.getJobName(), () -> paramDef.generateContents(jobWrapper, scms));
                 }
             }
             return ItemsErrorModel.EMPTY;
         }
 
+        /**
+         * The first value of the list, from the cache when it is fresh, otherwise computed without listing all values.
+         * The whole list is never computed here.
+         *
+         * @return the first value or null when it can not be resolved
+         */
+        String getTopValue(Job job, GitParameterDefinition paramDef) throws Exception {
+            if (job == null) {
+                return null;
+            }
+            JobWrapper jobWrapper = JobWrapperFactory.createJobWrapper(job);
+            List<GitSCM> scms = getMatchingGitSCMs(jobWrapper, paramDef.getUseRepositoryPattern());
+            if (scms == null || scms.isEmpty()) {
+                //Without a remote the list holds only the default value
+                return paramDef.getDefaultValue();
+            }
+
+            ItemsErrorModel cached = referencesCache.getIfFresh(paramDef.getReferencesCacheKey(jobWrapper, scms));
+            if (cached != null) {
+                return cached.size() > 0 ? cached.get(0).value : null;
+            }
+            return paramDef.generateTopValue(jobWrapper, scms);
+        }
+
+        /**
+         * Computes the values again and stores them in the cache, so the next request is served immediately.
+         */
+        void refreshReferences(Job job, GitParameterDefinition paramDef) {
+            if (!referencesCache.isEnabled()) {
+                return;
+            }
+            JobWrapper jobWrapper = JobWrapperFactory.createJobWrapper(job);
+            List<GitSCM> scms = getMatchingGitSCMs(jobWrapper, paramDef.getUseRepositoryPattern());
+            if (scms == null || scms.isEmpty()) {
+                return;
+            }
+            String cacheKey = paramDef.getReferencesCacheKey(jobWrapper, scms);
+            referencesCache.refresh(cacheKey, jobWrapper.getJobName(), () -> paramDef.generateContents(jobWrapper, scms));
+        }
+
+        /**
+         * Part of the values, the browser loads next pages on demand.
+         * Pages are cut from the cached list, without the cache all remaining values are returned at once,
+         * so the list is not computed again for every page.
+         */
+        public ItemsErrorModel doFillValueItemsPage(@AncestorInPath Job job, @QueryParameter String param,
+                                                    @QueryParameter int offset, @QueryParameter int limit) {
+            return doFillValueItems(job, param).page(offset, referencesCache.isEnabled() ? limit : 0);
+        }
+
+        /**
+         * Values matching the quick filter, searched in the cached list.
+         * The page asks it only when the cache is enabled, otherwise the browser searches the loaded values,
+         * so the list is not computed again for every search.
+         */
+        public ItemsErrorModel doFillValueItemsFilter(@AncestorInPath Job job, @QueryParameter String param,
+                                                      @QueryParameter String filter, @QueryParameter int limit) {
+            return doFillValueItems(job, param).filter(trim(filter), limit > 0 ? limit : QUICK_FILTER_LIMIT);
+        }
+
         private String getUseRepositoryMessage(String repositoryName) {
             return isNotBlank(repositoryName) ? Messages.GitParameterDefinition_useRepositoryMessage(repositoryName): EMPTY;
         }
@@ -736,6 +1289,12 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         @Override
         public boolean configure(StaplerRequest req, JSONObject json) throws FormException {
             showNeedToCloneInformation = json.getBoolean("showNeedToCloneInformation");
+            cacheTimeToLive = json.optInt("cacheTimeToLive", DEFAULT_CACHE_TIME_TO_LIVE);
+            cacheMaxEntries = json.optInt("cacheMaxEntries", DEFAULT_CACHE_MAX_ENTRIES);
+            referencesCache.configure(cacheTimeToLive, TimeUnit.SECONDS, cacheMaxEntries);
+            mirrorCacheQuota = json.optInt("mirrorCacheQuota", DEFAULT_MIRROR_CACHE_QUOTA);
+            mirrorCache.setQuota(mirrorCacheQuota);
+            repositoryReader = RepositoryReader.valueOf(json.optString("repositoryReader", RepositoryReader.JGIT.name()));
             save();
             return super.configure(req, json);
         }
@@ -743,5 +1302,41 @@ public class GitParameterDefinition extends ParameterDefinition implements Compa
         public boolean getShowNeedToCloneInformation() {
             return showNeedToCloneInformation;
         }
+
+        public int getCacheTimeToLive() {
+            return cacheTimeToLive;
+        }
+
+        public int getCacheMaxEntries() {
+            return cacheMaxEntries;
+        }
+
+        public ReferencesCache getReferencesCache() {
+            return referencesCache;
+        }
+
+        public RepositoryReader getRepositoryReader() {
+            return repositoryReader != null ? repositoryReader : RepositoryReader.JGIT;
+        }
+
+        /**
+         * Readers of a parameter, the first one keeps the global reader
+         */
+        public ListBoxModel doFillRepositoryReaderItems() {
+            ListBoxModel items = new ListBoxModel();
+            items.add(Messages.GitParameterDefinition_globalRepositoryReader(getRepositoryReader()), EMPTY);
+            for (RepositoryReader reader : RepositoryReader.values()) {
+                items.add(reader.name());
+            }
+            return items;
+        }
+
+        public int getMirrorCacheQuota() {
+            return mirrorCacheQuota;
+        }
+
+        public MirrorCache getMirrorCache() {
+            return mirrorCache;
+        }
     }
 }
@@ -0,0 +1,148 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.ParameterDefinition;
+import hudson.model.ParametersDefinitionProperty;
+import hudson.model.Saveable;
+import hudson.model.TopLevelItem;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import jenkins.model.Jenkins;
+
+/**
+ * Index of jobs by the UUID of their git parameter definitions, so the parent job is found without walking all items.
+ * <p>
+ * The index follows created, copied, updated, renamed and deleted jobs. Definitions which are not indexed yet
+ * (e.g. set by the properties step of a pipeline) are found by the full scan, which also refreshes the index.
+ */
+@Extension
+public class ParentJobIndex extends ItemListener {
+    private final Map<UUID, String> jobs = new ConcurrentHashMap<>();
+
+    static ParentJobIndex get() {
+        return ExtensionList.lookupSingleton(ParentJobIndex.class);
+    }
+
+    Job getParentJob(GitParameterDefinition definition) {
+        UUID uuid = definition.getUuid();
+        String fullName = jobs.get(uuid);
+        if (fullName != null) {
+            Job job = Jenkins.get().getItemByFullName(fullName, Job.class);
+            if (job instanceof TopLevelItem && containsDefinition(job, uuid)) {
+                return job;
+            }
+            jobs.remove(uuid, fullName);
+        }
+        return scan(uuid);
+    }
+
+    /**
+     * Walks all jobs, indexes them and returns the last job containing the definition
+     */
+    private Job scan(UUID uuid) {
+        Job context = null;
+        for (Job job : Jenkins.get().getAllItems(Job.class)) {
+            if (!(job instanceof TopLevelItem)) continue;
+
+            for (GitParameterDefinition definition : getDefinitions(job)) {
+                jobs.put(definition.getUuid(), job.getFullName());
+                if (definition.getUuid().equals(uuid)) {
+                    context = job;
+                }
+            }
+        }
+        return context;
+    }
+
+    private void index(Item item) {
+        if (!(item instanceof Job) || !(item instanceof TopLevelItem)) {
+            return;
+        }
+        String fullName = item.getFullName();
+        jobs.values().removeIf(fullName::equals);
+        for (GitParameterDefinition definition : getDefinitions((Job) item)) {
+            jobs.put(definition.getUuid(), fullName);
+        }
+    }
+
+    private void remove(String fullName) {
+        jobs.values().removeIf(name -> name.equals(fullName) || name.startsWith(fullName + "/"));
+    }
+
+    private static boolean containsDefinition(Job job, UUID uuid) {
+        for (GitParameterDefinition definition : getDefinitions(job)) {
+            if (definition.getUuid().equals(uuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static List<GitParameterDefinition> getDefinitions(Job<?, ?> job) {
+        ParametersDefinitionProperty property = job.getProperty(ParametersDefinitionProperty.class);
+        List<GitParameterDefinition> definitions = new ArrayList<>();
+        if (property != null && property.getParameterDefinitions() != null) {
+            for (ParameterDefinition pd : property.getParameterDefinitions()) {
+                if (pd instanceof GitParameterDefinition) {
+                    definitions.add((GitParameterDefinition) pd);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    @Override
+    public void onLoaded() {
+        jobs.clear();
+        scan(null);
+    }
+
+    @Override
+    public void onCreated(Item item) {
+        index(item);
+    }
+
+    @Override
+    public void onCopied(Item src, Item item) {
+        index(item);
+    }
+
+    @Override
+    public void onUpdated(Item item) {
+        index(item);
+    }
+
+    @Override
+    public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+        remove(oldFullName);
+        index(item);
+    }
+
+    @Override
+    public void onDeleted(Item item) {
+        remove(item.getFullName());
+    }
+
+    /**
+     * Job properties changed without the configuration page, e.g. by the properties step of a pipeline
+     */
+    @Extension
+    public static class JobSaveListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Job) {
+                get().index((Job) o);
+            }
+        }
+    }
+}
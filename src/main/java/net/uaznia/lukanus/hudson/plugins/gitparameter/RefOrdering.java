@@ -0,0 +1,292 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Ordering of reference names, a chain of rules evaluated in one sort pass.
+ * <p>
+ * Every rule computes a key of a name once, names are compared by the keys of the first rule,
+ * ties by the keys of the next one. An ordering without rules keeps the order of the listed names.
+ */
+final class RefOrdering {
+    static final RefOrdering UNSORTED = new RefOrdering(Collections.<Rule<?>>emptyList());
+    static final RefOrdering NATURAL = UNSORTED.then(new NaturalRule());
+    static final RefOrdering SMART = UNSORTED.then(new SmartRule());
+    static final RefOrdering SEMVER = UNSORTED.then(new SemverRule(false)).then(NATURAL);
+    static final RefOrdering SEMVER_DESCENDING = UNSORTED.then(new SemverRule(true)).then(NATURAL);
+
+    private final List<Rule<?>> rules;
+
+    private RefOrdering(List<Rule<?>> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Names starting with the first prefix go first, then names starting with the next one, other names last
+     */
+    static RefOrdering prefixGroups(String... prefixes) {
+        return UNSORTED.then(new PrefixGroupRule(prefixes));
+    }
+
+    /**
+     * Ordering with the rule deciding ties of this ordering
+     */
+    RefOrdering then(Rule<?> rule) {
+        List<Rule<?>> chain = new ArrayList<>(rules);
+        chain.add(rule);
+        return new RefOrdering(Collections.unmodifiableList(chain));
+    }
+
+    RefOrdering then(RefOrdering ordering) {
+        RefOrdering chain = this;
+        for (Rule<?> rule : ordering.rules) {
+            chain = chain.then(rule);
+        }
+        return chain;
+    }
+
+    /**
+     * The same rules, each in the opposite direction
+     */
+    RefOrdering reversed() {
+        List<Rule<?>> chain = new ArrayList<>(rules.size());
+        for (Rule<?> rule : rules) {
+            chain.add(new ReversedRule<>(rule));
+        }
+        return new RefOrdering(Collections.unmodifiableList(chain));
+    }
+
+    boolean isSorting() {
+        return !rules.isEmpty();
+    }
+
+    private static ArrayList<String> toNames(Keyed[] keyed) {
+        Arrays.sort(keyed);
+        ArrayList<String> sorted = new ArrayList<>(keyed.length);
+        for (Keyed name : keyed) {
+            sorted.add(name.name);
+        }
+        return sorted;
+    }
+
+    SortedNames sortedNames() {
+        return new SortedNames();
+    }
+
+    /**
+     * Names kept sorted while they are added and removed one by one, so a change costs a logarithmic time.
+     * A name added more times is listed once, until it is removed the same number of times.
+     * <p>
+     * The sorted set is built by the first listing of all names. Until then a limited listing selects the first
+     * names with a heap of the limit size, so a snapshot listed only with Maximum Items never sorts all names.
+     */
+    final class SortedNames {
+        private final Map<String, Keyed> keyed = new HashMap<>();
+        private final Map<String, Integer> counts = new HashMap<>();
+        private TreeSet<Keyed> sorted;
+        private int index;
+
+        void add(String name) {
+            if (counts.merge(name, 1, Integer::sum) == 1) {
+                Keyed key = new Keyed(name, index++);
+                keyed.put(name, key);
+                if (sorted != null) {
+                    sorted.add(key);
+                }
+            }
+        }
+
+        void remove(String name) {
+            Integer count = counts.get(name);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                counts.put(name, count - 1);
+            } else {
+                counts.remove(name);
+                Keyed key = keyed.remove(name);
+                if (sorted != null) {
+                    sorted.remove(key);
+                }
+            }
+        }
+
+        /**
+         * @param limit maximum number of names, 0 means all names
+         */
+        ArrayList<String> list(int limit) {
+            if (sorted == null && limit > 0 && limit < keyed.size()) {
+                return first(limit);
+            }
+            if (sorted == null) {
+                sorted = new TreeSet<>(keyed.values());
+            }
+            int size = limit > 0 ? Math.min(limit, sorted.size()) : sorted.size();
+            ArrayList<String> names = new ArrayList<>(size);
+            for (Keyed name : sorted) {
+                if (names.size() == size) {
+                    break;
+                }
+                names.add(name.name);
+            }
+            return names;
+        }
+
+        private ArrayList<String> first(int limit) {
+            // The greatest of the selected names is on the top of the heap and is replaced by a lower name
+            PriorityQueue<Keyed> heap = new PriorityQueue<>(limit + 1, Collections.reverseOrder());
+            for (Keyed candidate : keyed.values()) {
+                if (heap.size() < limit) {
+                    heap.add(candidate);
+                } else if (candidate.compareTo(heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+            return toNames(heap.toArray(new Keyed[0]));
+        }
+    }
+
+    /**
+     * Name with the keys of all rules, equal names keep the listed order
+     */
+    private final class Keyed implements Comparable<Keyed> {
+        private final String name;
+        private final int index;
+        private final Object[] keys;
+
+        private Keyed(String name, int index) {
+            this.name = name;
+            this.index = index;
+            this.keys = new Object[rules.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = rules.get(i).key(name);
+            }
+        }
+
+        @Override
+        public int compareTo(Keyed other) {
+            for (int i = 0; i < keys.length; i++) {
+                int difference = compareKeys(rules.get(i), keys[i], other.keys[i]);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return Integer.compare(index, other.index);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> int compareKeys(Rule<K> rule, Object a, Object b) {
+        return rule.compare((K) a, (K) b);
+    }
+
+    /**
+     * A single step of an ordering, the key is computed once for every name
+     */
+    abstract static class Rule<K> {
+        abstract K key(String name);
+
+        abstract int compare(K a, K b);
+    }
+
+    static class NaturalRule extends Rule<String> {
+        @Override
+        String key(String name) {
+            return name;
+        }
+
+        @Override
+        int compare(String a, String b) {
+            return a.compareTo(b);
+        }
+    }
+
+    /**
+     * Numbers in names compared by value, as {@link SmartNumberStringComparer}
+     */
+    static class SmartRule extends Rule<SmartSortKey> {
+        @Override
+        SmartSortKey key(String name) {
+            return new SmartSortKey(name);
+        }
+
+        @Override
+        int compare(SmartSortKey a, SmartSortKey b) {
+            return a.compareTo(b);
+        }
+    }
+
+    /**
+     * Semantic versions by precedence, names which are not a version after all versions in both directions
+     */
+    static class SemverRule extends Rule<SemanticVersion> {
+        private final boolean descending;
+
+        SemverRule(boolean descending) {
+            this.descending = descending;
+        }
+
+        @Override
+        SemanticVersion key(String name) {
+            return SemanticVersion.of(name);
+        }
+
+        @Override
+        int compare(SemanticVersion a, SemanticVersion b) {
+            if (a == null || b == null) {
+                return a == null ? (b == null ? 0 : 1) : -1;
+            }
+            return descending ? b.compareTo(a) : a.compareTo(b);
+        }
+    }
+
+    static class PrefixGroupRule extends Rule<Integer> {
+        private final String[] prefixes;
+
+        PrefixGroupRule(String... prefixes) {
+            this.prefixes = prefixes.clone();
+        }
+
+        @Override
+        Integer key(String name) {
+            for (int i = 0; i < prefixes.length; i++) {
+                if (name.startsWith(prefixes[i])) {
+                    return i;
+                }
+            }
+            return prefixes.length;
+        }
+
+        @Override
+        int compare(Integer a, Integer b) {
+            return Integer.compare(a, b);
+        }
+    }
+
+    private static class ReversedRule<K> extends Rule<K> {
+        private final Rule<K> rule;
+
+        ReversedRule(Rule<K> rule) {
+            this.rule = rule;
+        }
+
+        @Override
+        K key(String name) {
+            return rule.key(name);
+        }
+
+        @Override
+        int compare(K a, K b) {
+            return rule.compare(b, a);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.DEFAULT_SNAPSHOT_CACHE_SIZE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * References of one remote from the last listing with their values, kept sorted.
+ * <p>
+ * The next listing compares the references with the snapshot, values are computed only for the added and moved
+ * references and the changes are applied to the sorted values, so a push of one tag describes one tag.
+ * Snapshots are kept controller wide by a key of the remote and of the parameter configuration.
+ */
+final class RefSnapshot {
+    private static final int CACHE_SIZE =
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".snapshotCacheSize", DEFAULT_SNAPSHOT_CACHE_SIZE);
+    private static final Map<String, RefSnapshot> SNAPSHOTS = new LinkedHashMap<String, RefSnapshot>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RefSnapshot> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final Map<String, ObjectId> references = new HashMap<>();
+    private final Map<String, String> values = new HashMap<>();
+    private final RefOrdering.SortedNames sorted;
+
+    RefSnapshot(RefOrdering ordering) {
+        this.sorted = ordering.sortedNames();
+    }
+
+    static RefSnapshot of(String key, RefOrdering ordering) {
+        synchronized (SNAPSHOTS) {
+            return SNAPSHOTS.computeIfAbsent(key, k -> new RefSnapshot(ordering));
+        }
+    }
+
+    /**
+     * @return true when no references were applied yet
+     */
+    synchronized boolean isEmpty() {
+        return references.isEmpty();
+    }
+
+    /**
+     * Computes values of the changed references
+     */
+    interface Values {
+        /**
+         * @return values by the reference, null value marks a reference which is not listed (e.g. filtered out),
+         * a missing reference is computed again by the next update
+         */
+        Map<String, String> compute(Map<String, ObjectId> references) throws Exception;
+    }
+
+    /**
+     * Applies the current references of the remote.
+     * <p>
+     * Values are computed without the lock of the snapshot, a slow fetch or describe does not block other requests
+     * of the same remote. Changes applied meanwhile by another update are compared again, references whose value was
+     * not computed by this update are left out and computed by the next one.
+     *
+     * @param limit maximum number of values, 0 means all values
+     * @return sorted values of the current references
+     */
+    ArrayList<String> update(Map<String, ObjectId> current, Values computation, int limit) throws Exception {
+        Map<String, ObjectId> changed;
+        synchronized (this) {
+            changed = changed(current);
+            if (changed.isEmpty() && references.size() == current.size()) {
+                return sorted.list(limit);
+            }
+        }
+        // Computed before the snapshot is changed, a failure keeps the last snapshot
+        Map<String, String> computed = changed.isEmpty() ? new HashMap<>() : computation.compute(changed);
+        synchronized (this) {
+            apply(current, changed(current), computed);
+            return sorted.list(limit);
+        }
+    }
+
+    private Map<String, ObjectId> changed(Map<String, ObjectId> current) {
+        Map<String, ObjectId> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectId> reference : current.entrySet()) {
+            if (!reference.getValue().equals(references.get(reference.getKey()))) {
+                changed.put(reference.getKey(), reference.getValue());
+            }
+        }
+        return changed;
+    }
+
+    private void apply(Map<String, ObjectId> current, Map<String, ObjectId> changed, Map<String, String> computed) {
+        Iterator<String> names = references.keySet().iterator();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!current.containsKey(name) || changed.containsKey(name)) {
+                names.remove();
+                String value = values.remove(name);
+                if (value != null) {
+                    sorted.remove(value);
+                }
+            }
+        }
+        for (Map.Entry<String, ObjectId> reference : changed.entrySet()) {
+            String name = reference.getKey();
+            if (!computed.containsKey(name)) {
+                continue;
+            }
+            references.put(name, reference.getValue());
+            String value = computed.get(name);
+            if (value != null) {
+                values.put(name, value);
+                sorted.add(value);
+            }
+        }
+    }
+}
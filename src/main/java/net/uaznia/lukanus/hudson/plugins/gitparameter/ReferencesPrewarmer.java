@@ -0,0 +1,202 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.DEFAULT_PREWARM_INTERVAL;
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.DEFAULT_PREWARM_MIN_INTERVAL;
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.DEFAULT_PREWARM_THREADS;
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.PREWARM_QUEUE_SIZE;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.FilePath;
+import hudson.model.AbstractProject;
+import hudson.model.Job;
+import hudson.model.PeriodicWork;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.SCMListener;
+import hudson.model.listeners.SCMPollListener;
+import hudson.scm.PollingResult;
+import hudson.scm.SCM;
+import hudson.scm.SCMRevisionState;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+/**
+ * Computes values of git parameters in the background, so the 'Build with Parameters' page is served from the cache.
+ * <p>
+ * A job is refreshed when polling finds changes (push notifications of the git plugin start polling too),
+ * after a checkout of its build and optionally on a schedule. Requests for a job which is waiting are merged,
+ * a job is refreshed at most once per the minimal interval and only a few jobs are refreshed at once,
+ * so a burst of notifications does not flood the remote.
+ */
+@Extension
+public class ReferencesPrewarmer extends PeriodicWork {
+    private static final Logger LOGGER = Logger.getLogger(ReferencesPrewarmer.class.getName());
+    private static final int THREADS =
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".prewarmThreads", DEFAULT_PREWARM_THREADS);
+    private static final int MIN_INTERVAL =
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".prewarmMinInterval", DEFAULT_PREWARM_MIN_INTERVAL);
+    private static final int INTERVAL =
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".prewarmInterval", DEFAULT_PREWARM_INTERVAL);
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastRefresh = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    /**
+     * Job where the next scheduled refresh starts, when the last one did not queue all jobs
+     */
+    private volatile String resumeFrom;
+
+    public ReferencesPrewarmer() {
+        if (THREADS > 0) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(PREWARM_QUEUE_SIZE),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "GitParameter references prewarm"));
+            executor.allowCoreThreadTimeOut(true);
+            this.executor = executor;
+        } else {
+            this.executor = null;
+        }
+    }
+
+    static ReferencesPrewarmer get() {
+        return ExtensionList.lookupSingleton(ReferencesPrewarmer.class);
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return INTERVAL > 0 ? TimeUnit.MINUTES.toMillis(INTERVAL) : DAY;
+    }
+
+    @Override
+    protected void doRun() {
+        if (INTERVAL <= 0) {
+            return;
+        }
+        List<Job> jobs = Jenkins.get().getAllItems(Job.class);
+        int start = 0;
+        for (int i = 0; i < jobs.size(); i++) {
+            if (jobs.get(i).getFullName().equals(resumeFrom)) {
+                start = i;
+                break;
+            }
+        }
+
+        // Jobs which did not fit into the queue are refreshed first by the next run
+        String firstSkipped = null;
+        int skipped = 0;
+        for (int i = 0; i < jobs.size(); i++) {
+            Job<?, ?> job = jobs.get((start + i) % jobs.size());
+            if (firstSkipped == null && submit(job) != Submitted.QUEUE_FULL) {
+                continue;
+            }
+            if (!ParentJobIndex.getDefinitions(job).isEmpty()) {
+                if (firstSkipped == null) {
+                    firstSkipped = job.getFullName();
+                }
+                skipped++;
+            }
+        }
+        resumeFrom = firstSkipped;
+        if (skipped > 0) {
+            LOGGER.log(Level.INFO, Messages.ReferencesPrewarmer_runSkipped(skipped, firstSkipped));
+        }
+    }
+
+    private enum Submitted {
+        QUEUED, SKIPPED, QUEUE_FULL
+    }
+
+    /**
+     * Queues a refresh of all git parameters of the job, unless it waits already or was refreshed recently
+     *
+     * @return true when the refresh was queued
+     */
+    boolean schedule(Job<?, ?> job) {
+        return submit(job) == Submitted.QUEUED;
+    }
+
+    private Submitted submit(Job<?, ?> job) {
+        if (executor == null || ParentJobIndex.getDefinitions(job).isEmpty()) {
+            return Submitted.SKIPPED;
+        }
+        final String fullName = job.getFullName();
+        Long last = lastRefresh.get(fullName);
+        if (last != null && System.currentTimeMillis() - last < TimeUnit.SECONDS.toMillis(MIN_INTERVAL)) {
+            return Submitted.SKIPPED;
+        }
+        if (!pending.add(fullName)) {
+            return Submitted.SKIPPED;
+        }
+        try {
+            executor.execute(() -> {
+                try (ACLContext ignored = ACL.as(ACL.SYSTEM)) {
+                    lastRefresh.put(fullName, System.currentTimeMillis());
+                    refresh(fullName);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, Messages.ReferencesPrewarmer_failed(fullName), e);
+                } finally {
+                    pending.remove(fullName);
+                }
+            });
+            return Submitted.QUEUED;
+        } catch (RejectedExecutionException e) {
+            pending.remove(fullName);
+            LOGGER.log(Level.FINE, Messages.ReferencesPrewarmer_queueFull(fullName), e);
+            return Submitted.QUEUE_FULL;
+        }
+    }
+
+    private void refresh(String fullName) {
+        // The job is looked up again, it could be renamed or deleted while waiting
+        Job<?, ?> job = Jenkins.get().getItemByFullName(fullName, Job.class);
+        if (job == null) {
+            lastRefresh.remove(fullName);
+            return;
+        }
+        for (GitParameterDefinition definition : ParentJobIndex.getDefinitions(job)) {
+            definition.getDescriptor().refreshReferences(job, definition);
+        }
+    }
+
+    /**
+     * Polling started by the schedule or by a push notification found new commits
+     */
+    @Extension
+    public static class PollListener extends SCMPollListener {
+        @Override
+        public void onPollingSuccess(AbstractProject<?, ?> project, TaskListener listener, PollingResult result) {
+            if (result.hasChanges()) {
+                get().schedule(project);
+            }
+        }
+    }
+
+    /**
+     * A build checked out the repository, this covers pipelines which are not polled
+     */
+    @Extension
+    public static class CheckoutListener extends SCMListener {
+        @Override
+        public void onCheckout(Run<?, ?> build, SCM scm, FilePath workspace, TaskListener listener,
+                               File changelogFile, SCMRevisionState pollingBaseline) {
+            get().schedule(build.getParent());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import hudson.plugins.git.GitException;
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.jenkinsci.plugins.gitclient.GitClient;
+
+/**
+ * References of one remote, read with a single ls-remote and partitioned into heads, tags and other refs.
+ * The remote is asked on the first use, a failed read is repeated by the next caller.
+ */
+class RemoteReferences {
+    private static final String PEELED_SUFFIX = "^{}";
+
+    private final GitClient gitClient;
+    private final String gitUrl;
+    private Map<String, ObjectId> references;
+
+    RemoteReferences(GitClient gitClient, String gitUrl) {
+        this.gitClient = gitClient;
+        this.gitUrl = gitUrl;
+    }
+
+    private RemoteReferences(GitClient gitClient, String gitUrl, Map<String, ObjectId> references) {
+        this(gitClient, gitUrl);
+        this.references = references;
+    }
+
+    /**
+     * References restricted to the one reference, the remote is not asked again
+     */
+    RemoteReferences only(String name) throws GitException, InterruptedException {
+        Map<String, ObjectId> reference = new LinkedHashMap<>();
+        ObjectId objectId = getAll().get(name);
+        if (objectId != null) {
+            reference.put(name, objectId);
+        }
+        return new RemoteReferences(gitClient, gitUrl, reference);
+    }
+
+    /**
+     * All references, as {@code git ls-remote <url>}
+     */
+    Map<String, ObjectId> getAll() throws GitException, InterruptedException {
+        if (references == null) {
+            references = peel(gitClient.getRemoteReferences(gitUrl, null, false, false));
+        }
+        return references;
+    }
+
+    /**
+     * Branches, as {@code git ls-remote --heads <url>}
+     */
+    Map<String, ObjectId> getHeads() throws GitException, InterruptedException {
+        Map<String, ObjectId> heads = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectId> reference : getAll().entrySet()) {
+            if (reference.getKey().startsWith(Constants.R_HEADS)) {
+                heads.put(reference.getKey(), reference.getValue());
+            }
+        }
+        return heads;
+    }
+
+    /**
+     * Tags, as {@code git ls-remote --tags <url> <pattern>}
+     *
+     * @param pattern ls-remote pattern, null or empty means all tags
+     */
+    Map<String, ObjectId> getTags(String pattern) throws GitException, InterruptedException {
+        return getTagsMatching(StringUtils.isEmpty(pattern) ? null : compileTailPattern(pattern));
+    }
+
+    /**
+     * Tags matching the pattern compiled by {@link #compileTailPattern(String)}
+     *
+     * @param tailPattern compiled ls-remote pattern, null means all tags
+     */
+    Map<String, ObjectId> getTagsMatching(Pattern tailPattern) throws GitException, InterruptedException {
+        Matcher matcher = tailPattern == null ? null : tailPattern.matcher("");
+        Map<String, ObjectId> tags = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectId> reference : getAll().entrySet()) {
+            String name = reference.getKey();
+            if (name.startsWith(Constants.R_TAGS) && (matcher == null || matcher.reset(name).matches())) {
+                tags.put(name, reference.getValue());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Annotated tags are advertised twice, the peeled entry replaces the tag object like in git client.
+     */
+    private static Map<String, ObjectId> peel(Map<String, ObjectId> advertised) {
+        Map<String, ObjectId> peeled = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectId> reference : advertised.entrySet()) {
+            String name = reference.getKey();
+            if (name.startsWith(Constants.R_TAGS) && name.endsWith(PEELED_SUFFIX)) {
+                peeled.put(name.substring(0, name.length() - PEELED_SUFFIX.length()), reference.getValue());
+            } else if (!peeled.containsKey(name)) {
+                peeled.put(name, reference.getValue());
+            }
+        }
+        return peeled;
+    }
+
+    /**
+     * ls-remote matches the glob pattern against the tail of the reference name, starting after any slash
+     * or at the beginning of the name.
+     */
+    static Pattern compileTailPattern(String pattern) {
+        StringBuilder regex = new StringBuilder(pattern.length() * 2 + 8).append("(?:.*/)?");
+        boolean inClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                } else if (c == '\\' || c == '[') {
+                    regex.append('\\');
+                }
+                regex.append(c);
+                continue;
+            }
+            switch (c) {
+                case '*':
+                    regex.append(".*");
+                    break;
+                case '?':
+                    regex.append('.');
+                    break;
+                case '[':
+                    if (pattern.indexOf(']', i + 1) < 0) {
+                        regex.append("\\[");
+                    } else {
+                        inClass = true;
+                        regex.append('[');
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '!') {
+                            regex.append('^');
+                            i++;
+                        }
+                    }
+                    break;
+                default:
+                    regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
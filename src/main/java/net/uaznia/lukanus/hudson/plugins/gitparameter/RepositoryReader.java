@@ -0,0 +1,11 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+/**
+ * How revisions and tag descriptions are read from the fetched repository
+ */
+enum RepositoryReader {
+    // one walk over the repository in the Jenkins process, the repository of a mirror is opened once and shared
+    JGIT,
+    // git show and git describe per commit, with the git implementation of the job
+    CLI
+}
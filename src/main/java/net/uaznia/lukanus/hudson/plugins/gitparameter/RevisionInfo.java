@@ -1,6 +1,10 @@
 package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
-public class RevisionInfo {
+import java.io.Serializable;
+
+public class RevisionInfo implements Serializable {
+    private static final long serialVersionUID = -3183736253627040591L;
+
     private String sha1;
     private String revisionInfo;
 
@@ -7,9 +7,11 @@ import hudson.plugins.git.GitException;
 import hudson.plugins.git.Revision;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
 import org.jenkinsci.plugins.gitclient.GitClient;
 import org.joda.time.DateTime;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -26,13 +28,39 @@ public class RevisionInfoFactory {
 
     private GitClient gitClient;
     private String branch;
+    private int maxRevisions;
+    private RepositoryReader reader;
+    private Repository repository;
 
     public RevisionInfoFactory(GitClient gitClient, String branch) {
+        this(gitClient, branch, 0);
+    }
+
+    /**
+     * @param maxRevisions maximum number of the newest revisions to read, 0 means all
+     */
+    public RevisionInfoFactory(GitClient gitClient, String branch, int maxRevisions) {
+        this(gitClient, branch, maxRevisions, RepositoryReader.JGIT, null);
+    }
+
+    /**
+     * @param reader     {@link RepositoryReader#CLI} reads revisions one by one with the git client
+     * @param repository shared repository read in the Jenkins process, null means the repository of the git client
+     */
+    RevisionInfoFactory(GitClient gitClient, String branch, int maxRevisions, RepositoryReader reader, Repository repository) {
         this.gitClient = gitClient;
         this.branch = branch;
+        this.maxRevisions = maxRevisions;
+        this.reader = reader;
+        this.repository = repository;
     }
 
     public List<RevisionInfo> getRevisions() throws InterruptedException {
+        List<RevisionInfo> revisions = getRevisionsInOnePass();
+        if (revisions != null) {
+            return revisions;
+        }
+
         List<ObjectId> objectIds;
 
         if (StringUtils.isEmpty(branch)) {
@@ -40,6 +68,9 @@ public class RevisionInfoFactory {
         } else {
             objectIds = gitClient.revList(branch);
         }
+        if (maxRevisions > 0 && objectIds.size() > maxRevisions) {
+            objectIds = objectIds.subList(0, maxRevisions);
+        }
 
         ArrayList<RevisionInfo> revisionInfoList = new ArrayList<>(objectIds.size());
         for (ObjectId objectId : objectIds) {
@@ -50,6 +81,28 @@ public class RevisionInfoFactory {
         return revisionInfoList;
     }
 
+    /**
+     * Reads all revisions with a single walk over the repository, instead of showRevision and describe per commit.
+     *
+     * @return revisions or null when the repository is not accessible or the CLI reader is selected,
+     * then revisions are read one by one
+     */
+    private List<RevisionInfo> getRevisionsInOnePass() throws InterruptedException {
+        if (reader == RepositoryReader.CLI) {
+            return null;
+        }
+        try {
+            RevisionInfoReader revisionInfoReader = new RevisionInfoReader(branch, maxRevisions);
+            if (repository != null) {
+                return revisionInfoReader.invoke(repository, null);
+            }
+            return gitClient.withRepository(revisionInfoReader);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, Messages.RevisionInfoFactory_readInOnePassFailed(), e);
+            return null;
+        }
+    }
+
     private String prettyRevisionInfo(Revision revision) {
         String shortSha1 = revision.getSha1String().substring(0, 7);
 
@@ -71,35 +124,7 @@ public class RevisionInfoFactory {
             LOGGER.log(Level.SEVERE, Messages.GitParameterDefinition_unexpectedError(), e2);
         }
 
-        String commitMessage = trimMessage(getCommitMessage(raw));
-        String authorLine = getAuthorLine(raw);
-        Matcher matcher = AUTHOR_LINE_PATTERN.matcher(authorLine);
-        if (matcher.find()) {
-            String author = matcher.group(1);
-            String timestamp = matcher.group(2);
-            String zone = matcher.group(3);
-            DateTime date = new DateTime(parseLong(timestamp) * 1000, forID(zone)); //Convert UNIX timestamp to date
-            String stringDate = date.toString("yyyy-MM-dd HH:mm");
-            if (tag == null) {
-                return StringUtils.join(new Object[]{shortSha1, stringDate, author, commitMessage}, " ").trim();
-            } else {
-                return StringUtils.join(new Object[]{shortSha1, String.format("(%s)", tag), stringDate, author, commitMessage}, " ").trim();
-            }
-        }
-
-        matcher = AUTHOR_LINE_PATTERN_GENERAL_DATE.matcher(authorLine);
-        if (matcher.find()) {
-            String author = matcher.group(1);
-            String date = matcher.group(2);
-            if (tag == null) {
-                return StringUtils.join(new Object[]{shortSha1, date, author, commitMessage}, " ").trim();
-            } else {
-                return StringUtils.join(new Object[]{shortSha1, String.format("(%s)", tag), date, author, commitMessage}, " ").trim();
-            }
-        }
-
-        LOGGER.log(Level.WARNING, Messages.GitParameterDefinition_notFindAuthorPattern(authorLine));
-        return shortSha1;
+        return prettyRevisionInfo(shortSha1, tag, getAuthorLine(raw), getCommitMessage(raw));
     }
 
     public String prettyRevisionInfo(Revision revision, GitClient client) {
@@ -113,8 +138,17 @@ public class RevisionInfoFactory {
             return shortSha1;
         }
 
-        String commitMessage = trimMessage(getCommitMessage(raw));
-        String authorLine = getAuthorLine(raw);
+        return prettyRevisionInfo(shortSha1, null, getAuthorLine(raw), getCommitMessage(raw));
+    }
+
+    /**
+     * @param shortSha1     abbreviated commit id
+     * @param tag           tag pointing to the commit or null
+     * @param authorLine    author line in the raw format: {@code author Name <email> 1523905899 +0200}
+     * @param commitMessage commit message, lines joined by space
+     */
+    static String prettyRevisionInfo(String shortSha1, String tag, String authorLine, String commitMessage) {
+        commitMessage = trimMessage(commitMessage);
         Matcher matcher = AUTHOR_LINE_PATTERN.matcher(authorLine);
         if (matcher.find()) {
             String author = matcher.group(1);
@@ -122,21 +156,29 @@ public class RevisionInfoFactory {
             String zone = matcher.group(3);
             DateTime date = new DateTime(parseLong(timestamp) * 1000, forID(zone)); //Convert UNIX timestamp to date
             String stringDate = date.toString("yyyy-MM-dd HH:mm");
-            return StringUtils.join(new Object[]{shortSha1, stringDate, author, commitMessage}, " ").trim();
+            if (tag == null) {
+                return StringUtils.join(new Object[]{shortSha1, stringDate, author, commitMessage}, " ").trim();
+            } else {
+                return StringUtils.join(new Object[]{shortSha1, String.format("(%s)", tag), stringDate, author, commitMessage}, " ").trim();
+            }
         }
 
         matcher = AUTHOR_LINE_PATTERN_GENERAL_DATE.matcher(authorLine);
         if (matcher.find()) {
             String author = matcher.group(1);
             String date = matcher.group(2);
-            return StringUtils.join(new Object[]{shortSha1, date, author, commitMessage}, " ").trim();
+            if (tag == null) {
+                return StringUtils.join(new Object[]{shortSha1, date, author, commitMessage}, " ").trim();
+            } else {
+                return StringUtils.join(new Object[]{shortSha1, String.format("(%s)", tag), date, author, commitMessage}, " ").trim();
+            }
         }
 
         LOGGER.log(Level.WARNING, Messages.GitParameterDefinition_notFindAuthorPattern(authorLine));
         return shortSha1;
     }
 
-    private String getAuthorLine(List<String> rows) {
+    static String getAuthorLine(List<String> rows) {
         for (String row : rows) {
             if (StringUtils.isNotEmpty(row) && row.toLowerCase().startsWith("author")) {
                 return row;
@@ -145,17 +187,30 @@ public class RevisionInfoFactory {
         return "";
     }
 
-    private String getCommitMessage(List<String> rows) {
+    static String getCommitMessage(List<String> rows) {
+        List<String> messageRows = new ArrayList<>();
+        for (String row : rows) {
+            if (row.startsWith(COMMIT_MESSAGE_PREFIX)) {
+                messageRows.add(row);
+            }
+        }
+        return joinMessageRows(messageRows);
+    }
+
+    /**
+     * Joins not empty rows of the commit message by space, repeated rows are skipped
+     */
+    static String joinMessageRows(Collection<String> rows) {
         Set<String> commitMessages = new LinkedHashSet<>();
         for (String row : rows) {
-            if (row.startsWith(COMMIT_MESSAGE_PREFIX) && row.trim().length() > 0) {
+            if (row.trim().length() > 0) {
                 commitMessages.add(row.trim());
             }
         }
         return StringUtils.join(commitMessages, " ");
     }
 
-    private String trimMessage(String commitMessage) {
+    private static String trimMessage(String commitMessage) {
         if (commitMessage.length() > MAX_COMMIT_MESSAGE_LENGTH) {
             int lastSpace = commitMessage.lastIndexOf(" ", MAX_COMMIT_MESSAGE_LENGTH);
             if (lastSpace == -1) {
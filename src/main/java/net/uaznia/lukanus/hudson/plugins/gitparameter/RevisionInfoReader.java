@@ -0,0 +1,144 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import hudson.remoting.VirtualChannel;
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevTag;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.jenkinsci.plugins.gitclient.RepositoryCallback;
+
+/**
+ * Reads revisions of the branch (or all revisions) with one walk over the repository.
+ * Produces the same descriptions as {@code git show} and {@code git describe} per commit.
+ */
+class RevisionInfoReader implements RepositoryCallback<List<RevisionInfo>> {
+    private static final long serialVersionUID = 3465221709436585390L;
+
+    private final String branch;
+    private final int maxRevisions;
+
+    RevisionInfoReader(String branch) {
+        this(branch, 0);
+    }
+
+    /**
+     * @param maxRevisions maximum number of the newest revisions to read, 0 means all
+     */
+    RevisionInfoReader(String branch, int maxRevisions) {
+        this.branch = branch;
+        this.maxRevisions = maxRevisions;
+    }
+
+    @Override
+    public List<RevisionInfo> invoke(Repository repository, VirtualChannel channel) throws IOException, InterruptedException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            Map<ObjectId, String> annotatedTags = getAnnotatedTags(repository, walk);
+            markStart(repository, walk);
+
+            List<RevisionInfo> revisions = new ArrayList<>();
+            for (RevCommit commit : walk) {
+                if (maxRevisions > 0 && revisions.size() >= maxRevisions) {
+                    break;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                revisions.add(toRevisionInfo(commit, annotatedTags.get(commit)));
+                commit.disposeBody();
+            }
+            return revisions;
+        }
+    }
+
+    private void markStart(Repository repository, RevWalk walk) throws IOException {
+        if (StringUtils.isEmpty(branch)) {
+            // git rev-list --all
+            for (Ref ref : repository.getAllRefs().values()) {
+                markStart(walk, ref.getObjectId());
+            }
+        } else {
+            ObjectId objectId = repository.resolve(branch);
+            if (objectId == null) {
+                throw new IOException(Messages.RevisionInfoReader_unknownRevision(branch));
+            }
+            markStart(walk, objectId);
+        }
+    }
+
+    private void markStart(RevWalk walk, ObjectId objectId) throws IOException {
+        if (objectId == null) {
+            return;
+        }
+        RevObject object = walk.peel(walk.parseAny(objectId));
+        if (object instanceof RevCommit) {
+            walk.markStart((RevCommit) object);
+        }
+    }
+
+    /**
+     * Annotated tags by the tagged commit, as {@code git describe} returns only annotated tags.
+     * When a commit has more tags, the newest one is used.
+     */
+    private Map<ObjectId, String> getAnnotatedTags(Repository repository, RevWalk walk) throws IOException {
+        Map<ObjectId, String> tags = new HashMap<>();
+        Map<ObjectId, Long> tagTimes = new HashMap<>();
+        for (Ref ref : repository.getRefDatabase().getRefs(Constants.R_TAGS).values()) {
+            RevObject object;
+            try {
+                object = walk.parseAny(ref.getObjectId());
+            } catch (MissingObjectException e) {
+                continue;
+            }
+            if (!(object instanceof RevTag)) {
+                continue;
+            }
+            RevTag tag = (RevTag) object;
+            PersonIdent tagger = tag.getTaggerIdent();
+            long time = tagger != null ? tagger.getWhen().getTime() : 0;
+            RevObject target = walk.peel(tag);
+            Long knownTime = tagTimes.get(target);
+            if (knownTime == null || knownTime < time) {
+                tags.put(target.copy(), ref.getName().substring(Constants.R_TAGS.length()));
+                tagTimes.put(target.copy(), time);
+            }
+        }
+        walk.reset();
+        return tags;
+    }
+
+    private RevisionInfo toRevisionInfo(RevCommit commit, String tag) {
+        String sha1 = commit.getName();
+        return new RevisionInfo(sha1, prettyRevisionInfo(sha1.substring(0, 7), tag, commit));
+    }
+
+    static String prettyRevisionInfo(String shortSha1, String tag, RevCommit commit) {
+        String authorLine = getAuthorLine(commit.getAuthorIdent());
+        String commitMessage = RevisionInfoFactory.joinMessageRows(Arrays.asList(commit.getFullMessage().split("\n")));
+        return RevisionInfoFactory.prettyRevisionInfo(shortSha1, tag, authorLine, commitMessage);
+    }
+
+    /**
+     * Author line as in the raw commit: {@code author Name <email> 1523905899 +0200}
+     */
+    static String getAuthorLine(PersonIdent author) {
+        int offset = author.getTimeZoneOffset();
+        char sign = offset < 0 ? '-' : '+';
+        offset = Math.abs(offset);
+        return String.format("author %s <%s> %d %c%02d%02d", author.getName(), author.getEmailAddress(),
+                author.getWhen().getTime() / 1000, sign, offset / 60, offset % 60);
+    }
+}
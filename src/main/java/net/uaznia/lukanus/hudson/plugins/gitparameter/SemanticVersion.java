@@ -0,0 +1,133 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static net.uaznia.lukanus.hudson.plugins.gitparameter.Consts.DEFAULT_SEMVER_CACHE_SIZE;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Semantic version of a reference name, like {@code v2.10.0-rc.3+build.77}, ordered by the semver 2.0 precedence.
+ * <p>
+ * The version is the part of the name after the last slash, with an optional {@code v} prefix.
+ * A decorated tag ({@code name sha date author message}) is parsed by its name, the text before the first space.
+ * Parsed names are cached controller wide, names without a version are cached too.
+ */
+final class SemanticVersion implements Comparable<SemanticVersion> {
+    private static final Pattern VERSION_PATTERN = Pattern.compile(
+            "[vV]?(0|[1-9]\\d{0,17})\\.(0|[1-9]\\d{0,17})\\.(0|[1-9]\\d{0,17})"
+                    + "(?:-([0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*))?"
+                    + "(?:\\+[0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*)?");
+    private static final SemanticVersion NOT_A_VERSION = new SemanticVersion(0, 0, 0, null);
+    private static final String[] NO_PRE_RELEASE = new String[0];
+
+    private static final int CACHE_SIZE =
+            Integer.getInteger(GitParameterDefinition.class.getName() + ".semverCacheSize", DEFAULT_SEMVER_CACHE_SIZE);
+    private static final Map<String, SemanticVersion> CACHE = new LinkedHashMap<String, SemanticVersion>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SemanticVersion> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final long major;
+    private final long minor;
+    private final long patch;
+    private final String[] preRelease;
+
+    private SemanticVersion(long major, long minor, long patch, String[] preRelease) {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preRelease = preRelease;
+    }
+
+    /**
+     * @return version of the reference name or null, when the name is not a semantic version
+     */
+    static SemanticVersion of(String name) {
+        // Only the name is cached, decorations differ for every commit
+        int space = name.indexOf(' ');
+        if (space >= 0) {
+            name = name.substring(0, space);
+        }
+        SemanticVersion version;
+        synchronized (CACHE) {
+            version = CACHE.get(name);
+        }
+        if (version == null) {
+            version = parse(name);
+            synchronized (CACHE) {
+                CACHE.put(name, version == null ? NOT_A_VERSION : version);
+            }
+        }
+        return version == NOT_A_VERSION ? null : version;
+    }
+
+    static SemanticVersion parse(String name) {
+        Matcher matcher = VERSION_PATTERN.matcher(name);
+        if (!matcher.region(name.lastIndexOf('/') + 1, name.length()).matches()) {
+            return null;
+        }
+        String preRelease = matcher.group(4);
+        return new SemanticVersion(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)),
+                Long.parseLong(matcher.group(3)), preRelease == null ? NO_PRE_RELEASE : preRelease.split("\\."));
+    }
+
+    @Override
+    public int compareTo(SemanticVersion other) {
+        int difference = Long.compare(major, other.major);
+        if (difference == 0) {
+            difference = Long.compare(minor, other.minor);
+        }
+        if (difference == 0) {
+            difference = Long.compare(patch, other.patch);
+        }
+        if (difference == 0) {
+            difference = comparePreRelease(preRelease, other.preRelease);
+        }
+        return difference;
+    }
+
+    /**
+     * A release is greater than its pre-releases, identifiers are compared one by one,
+     * numbers by value and lower than alphanumeric identifiers
+     */
+    private static int comparePreRelease(String[] a, String[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return Integer.compare(b.length, a.length);
+        }
+        int identifiers = Math.min(a.length, b.length);
+        for (int i = 0; i < identifiers; i++) {
+            int difference = compareIdentifiers(a[i], b[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    private static int compareIdentifiers(String a, String b) {
+        boolean aNumeric = isNumeric(a);
+        boolean bNumeric = isNumeric(b);
+        if (aNumeric && bNumeric) {
+            int difference = Integer.compare(a.length(), b.length());
+            return difference != 0 ? difference : a.compareTo(b);
+        }
+        if (aNumeric != bNumeric) {
+            return aNumeric ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static boolean isNumeric(String identifier) {
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
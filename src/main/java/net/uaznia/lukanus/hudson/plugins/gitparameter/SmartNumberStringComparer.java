@@ -1,82 +1,81 @@
 package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
 import java.io.Serializable;
-import java.math.BigInteger;
 import java.util.Comparator;
 
 /**
  * Compares strings but treats a sequence of digits as a single character.
+ * <p>
+ * Both strings are walked in place, digit sequences are compared by their value without leading zeros
+ * (length first, then digit by digit), so no objects are created during the comparison.
  */
 class SmartNumberStringComparer implements Comparator<String>, Serializable {
 
-    /**
-     * Gets the token starting at the given index. It will return the first
-     * char if it is not a digit, otherwise it will return all consecutive
-     * digits starting at index.
-     *
-     * @param str   The string to extract token from
-     * @param index The start location
-     */
-    private String getToken(String str, int index) {
-        char nextChar = str.charAt(index++);
-        StringBuilder token =  new StringBuilder(String.valueOf(nextChar));
+    public int compare(String a, String b) {
+        int aLength = a.length();
+        int bLength = b.length();
+        int aIndex = 0;
+        int bIndex = 0;
 
-        // if the first char wasn't a digit then we're already done
-        if (!Character.isDigit(nextChar))
-            return token.toString();
+        while (aIndex < aLength && bIndex < bLength) {
+            char aChar = a.charAt(aIndex);
+            char bChar = b.charAt(bIndex);
 
-        // the first char was a digit so continue until end of string or non
-        // digit
-        while (index < str.length()) {
-            nextChar = str.charAt(index++);
+            if (Character.isDigit(aChar) && Character.isDigit(bChar)) {
+                int aEnd = endOfDigits(a, aIndex);
+                int bEnd = endOfDigits(b, bIndex);
+                int difference = compareNumbers(a, aIndex, aEnd, b, bIndex, bEnd);
+                if (difference != 0)
+                    return difference;
 
-            if (!Character.isDigit(nextChar))
-                break;
+                aIndex = aEnd;
+                bIndex = bEnd;
+            } else {
+                // a digit sequence and a character differ already in the first character
+                if (aChar != bChar)
+                    return aChar - bChar;
 
-            token.append(nextChar);
+                aIndex++;
+                bIndex++;
+            }
         }
 
-        return token.toString();
+        return Integer.compare(aLength, bLength);
     }
 
     /**
-     * True if the string only contains digits
+     * Index after the last consecutive digit starting at index
      */
-    private boolean stringContainsInteger(String str) {
-        for (int charIndex = 0; charIndex < str.length(); charIndex++) {
-            if (!Character.isDigit(str.charAt(charIndex)))
-                return false;
+    private static int endOfDigits(String str, int index) {
+        while (index < str.length() && Character.isDigit(str.charAt(index))) {
+            index++;
         }
-        return true;
+        return index;
     }
 
-    public int compare(String a, String b) {
-
-        int aIndex = 0;
-        int bIndex = 0;
-
-        while (aIndex < a.length() && bIndex < b.length()) {
-            String aToken = getToken(a, aIndex);
-            String bToken = getToken(b, bIndex);
-            int difference;
+    /**
+     * Compares values of digit sequences, of any length
+     */
+    private static int compareNumbers(String a, int aStart, int aEnd, String b, int bStart, int bEnd) {
+        aStart = skipLeadingZeros(a, aStart, aEnd);
+        bStart = skipLeadingZeros(b, bStart, bEnd);
 
-            if (stringContainsInteger(aToken)
-                    && stringContainsInteger(bToken)) {
-                BigInteger aInt = new BigInteger(aToken);
-                BigInteger bInt = new BigInteger(bToken);
-                difference = aInt.compareTo(bInt);
-            } else {
-                difference = aToken.compareTo(bToken);
-            }
+        int difference = Integer.compare(aEnd - aStart, bEnd - bStart);
+        if (difference != 0)
+            return difference;
 
+        for (; aStart < aEnd; aStart++, bStart++) {
+            difference = Character.digit(a.charAt(aStart), 10) - Character.digit(b.charAt(bStart), 10);
             if (difference != 0)
                 return difference;
-
-            aIndex += aToken.length();
-            bIndex += bToken.length();
         }
-
-        return Integer.compare(a.length(), b.length());
+        return 0;
     }
 
+    private static int skipLeadingZeros(String str, int start, int end) {
+        while (start < end && Character.digit(str.charAt(start), 10) == 0) {
+            start++;
+        }
+        return start;
+    }
 }
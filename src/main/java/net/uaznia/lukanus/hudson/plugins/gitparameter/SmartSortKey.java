@@ -0,0 +1,113 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+/**
+ * Name split once into segments, ordered the same way as by {@link SmartNumberStringComparer}.
+ * <p>
+ * A segment is a single character or a sequence of digits. Value of a sequence with up to 18 significant digits
+ * is kept as a long, so sorting compares numbers instead of scanning the name again on every comparison.
+ */
+final class SmartSortKey implements Comparable<SmartSortKey> {
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int CHARACTER = -1;
+
+    private final String name;
+    private final int size;
+    private final char[] firstChars;
+    // Number of significant digits of a digit sequence, CHARACTER for other segments
+    private final int[] digits;
+    private final int[] significantStarts;
+    private final long[] values;
+
+    SmartSortKey(String name) {
+        this.name = name;
+        int length = name.length();
+        // Keys are kept by the snapshots, arrays are sized to the segments, not to the characters
+        int segments = countSegments(name);
+        char[] firstChars = new char[segments];
+        int[] digits = new int[segments];
+        int[] significantStarts = new int[segments];
+        long[] values = new long[segments];
+
+        int size = 0;
+        int index = 0;
+        while (index < length) {
+            char c = name.charAt(index);
+            firstChars[size] = c;
+            if (!Character.isDigit(c)) {
+                digits[size] = CHARACTER;
+                index++;
+            } else {
+                int start = index;
+                while (start < length && Character.digit(name.charAt(start), 10) == 0) {
+                    start++;
+                }
+                int end = start;
+                long value = 0;
+                while (end < length && Character.isDigit(name.charAt(end))) {
+                    if (end - start < MAX_LONG_DIGITS) {
+                        value = value * 10 + Character.digit(name.charAt(end), 10);
+                    }
+                    end++;
+                }
+                digits[size] = end - start;
+                significantStarts[size] = start;
+                values[size] = value;
+                index = end;
+            }
+            size++;
+        }
+
+        this.size = size;
+        this.firstChars = firstChars;
+        this.digits = digits;
+        this.significantStarts = significantStarts;
+        this.values = values;
+    }
+
+    private static int countSegments(String name) {
+        int segments = 0;
+        boolean inDigits = false;
+        for (int i = 0; i < name.length(); i++) {
+            boolean digit = Character.isDigit(name.charAt(i));
+            if (!digit || !inDigits) {
+                segments++;
+            }
+            inDigits = digit;
+        }
+        return segments;
+    }
+
+    @Override
+    public int compareTo(SmartSortKey other) {
+        int segments = Math.min(size, other.size);
+        for (int i = 0; i < segments; i++) {
+            int aDigits = digits[i];
+            int bDigits = other.digits[i];
+            if (aDigits != CHARACTER && bDigits != CHARACTER) {
+                int difference = Integer.compare(aDigits, bDigits);
+                if (difference == 0) {
+                    difference = aDigits <= MAX_LONG_DIGITS
+                            ? Long.compare(values[i], other.values[i])
+                            : compareDigits(other, i, aDigits);
+                }
+                if (difference != 0)
+                    return difference;
+            } else if (firstChars[i] != other.firstChars[i]) {
+                // a digit sequence and a character differ already in the first character
+                return firstChars[i] - other.firstChars[i];
+            }
+        }
+        return Integer.compare(name.length(), other.name.length());
+    }
+
+    private int compareDigits(SmartSortKey other, int segment, int count) {
+        int aIndex = significantStarts[segment];
+        int bIndex = other.significantStarts[segment];
+        for (int i = 0; i < count; i++) {
+            int difference = Character.digit(name.charAt(aIndex + i), 10) - Character.digit(other.name.charAt(bIndex + i), 10);
+            if (difference != 0)
+                return difference;
+        }
+        return 0;
+    }
+}
@@ -1,17 +1,36 @@
 package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
 enum SortMode {
-    NONE, ASCENDING_SMART, DESCENDING_SMART, ASCENDING, DESCENDING, RC_THEN_RELEASE;
+    NONE(RefOrdering.UNSORTED),
+    ASCENDING_SMART(RefOrdering.SMART),
+    DESCENDING_SMART(RefOrdering.SMART.reversed()),
+    ASCENDING(RefOrdering.NATURAL),
+    DESCENDING(RefOrdering.NATURAL.reversed()),
+    // rc tags, then release tags, then others, each group in the descending order
+    RC_THEN_RELEASE(RefOrdering.prefixGroups("rc", "release").then(RefOrdering.NATURAL.reversed())),
+    // semantic versions by precedence, other names after them in the natural order
+    ASCENDING_SEMVER(RefOrdering.SEMVER),
+    DESCENDING_SEMVER(RefOrdering.SEMVER_DESCENDING);
+
+    private final RefOrdering ordering;
+
+    SortMode(RefOrdering ordering) {
+        this.ordering = ordering;
+    }
+
+    RefOrdering getOrdering() {
+        return ordering;
+    }
 
     public boolean getIsUsingSmartSort() {
         return this == ASCENDING_SMART || this == DESCENDING_SMART;
     }
 
     public boolean getIsDescending() {
-        return this == DESCENDING || this == DESCENDING_SMART;
+        return this == DESCENDING || this == DESCENDING_SMART || this == DESCENDING_SEMVER;
     }
 
     public boolean getIsSorting() {
-        return this != NONE;
+        return ordering.isSorting();
     }
 }
@@ -0,0 +1,67 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+
+import hudson.remoting.VirtualChannel;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.jenkinsci.plugins.gitclient.RepositoryCallback;
+
+/**
+ * Describes the commits pointed by tags with one walk over the repository, instead of {@code git show} per tag.
+ * Description has the same format as {@link RevisionInfoFactory#prettyRevisionInfo(hudson.plugins.git.Revision, org.jenkinsci.plugins.gitclient.GitClient)}.
+ */
+class TagInfoReader implements RepositoryCallback<HashMap<ObjectId, String>> {
+    private static final long serialVersionUID = -2316528703817497421L;
+
+    private final ArrayList<ObjectId> objectIds;
+
+    /**
+     * @param objectIds tag objects or commits, as returned by ls-remote
+     */
+    TagInfoReader(Collection<ObjectId> objectIds) {
+        this.objectIds = new ArrayList<>(objectIds);
+    }
+
+    /**
+     * @return description by the object id, objects missing in the repository are described by the abbreviated id
+     */
+    @Override
+    public HashMap<ObjectId, String> invoke(Repository repository, VirtualChannel channel) throws IOException, InterruptedException {
+        HashMap<ObjectId, String> descriptions = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            for (ObjectId objectId : objectIds) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                String shortSha1 = objectId.getName().substring(0, 7);
+                descriptions.put(objectId, describe(walk, objectId, shortSha1));
+            }
+        }
+        return descriptions;
+    }
+
+    private String describe(RevWalk walk, ObjectId objectId, String shortSha1) throws IOException {
+        RevObject object;
+        try {
+            object = walk.peel(walk.parseAny(objectId));
+        } catch (MissingObjectException e) {
+            return shortSha1;
+        }
+        if (!(object instanceof RevCommit)) {
+            return shortSha1;
+        }
+        RevCommit commit = (RevCommit) object;
+        walk.parseBody(commit);
+        String description = RevisionInfoReader.prettyRevisionInfo(shortSha1, null, commit);
+        commit.disposeBody();
+        return description;
+    }
+}
@@ -0,0 +1,80 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks guarding git operations on a shared workspace, one lock per workspace path.
+ * Only requests for the same workspace wait for each other, a lock is dropped when no request holds or waits for it.
+ */
+class WorkspaceLocks {
+    private final Map<String, WorkspaceLock> locks = new HashMap<>();
+    private final long timeout;
+    private final TimeUnit unit;
+
+    WorkspaceLocks(long timeout, TimeUnit unit) {
+        this.timeout = timeout;
+        this.unit = unit;
+    }
+
+    /**
+     * Acquires the lock for given workspace, waits at most the configured timeout.
+     *
+     * @throws IOException when the lock was not acquired in time
+     */
+    Lock lock(String workspace) throws IOException, InterruptedException {
+        WorkspaceLock lock;
+        synchronized (locks) {
+            lock = locks.computeIfAbsent(workspace, WorkspaceLock::new);
+            lock.users++;
+        }
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(timeout, unit);
+        } finally {
+            if (!acquired) {
+                release(lock);
+            }
+        }
+        if (!acquired) {
+            throw new IOException(Messages.GitParameterDefinition_workspaceLockTimeout(workspace, unit.toSeconds(timeout)));
+        }
+        return lock;
+    }
+
+    int size() {
+        synchronized (locks) {
+            return locks.size();
+        }
+    }
+
+    private void release(WorkspaceLock lock) {
+        synchronized (locks) {
+            if (--lock.users == 0) {
+                locks.remove(lock.workspace);
+            }
+        }
+    }
+
+    /**
+     * Lock of one workspace, counts the requests which hold or wait for it
+     */
+    private final class WorkspaceLock extends ReentrantLock {
+        private final String workspace;
+        private int users;
+
+        private WorkspaceLock(String workspace) {
+            this.workspace = workspace;
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter.cache;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.Util;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+/**
+ * Controller managed bare mirrors of remote repositories, one per remote URL.
+ * <p>
+ * Mirrors are reused between requests and only fetched incrementally. The size of a mirror is recorded after
+ * its first fetch and then at most once per the size interval, a walk over a large mirror is not repeated by every
+ * request. When the size of all mirrors exceeds the quota, the least recently used mirrors which are not in use
+ * are removed.
+ * The repository of a mirror is opened once and shared by all readers until the mirror is removed.
+ */
+public class MirrorCache {
+    private static final Logger LOGGER = Logger.getLogger(MirrorCache.class.getName());
+    private static final long MEGABYTE = 1024L * 1024L;
+    private static final String DELETING_SUFFIX = ".deleting";
+    private static final long SIZE_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private final File root;
+    private final Map<String, Mirror> mirrors = new HashMap<>();
+    private final long sizeInterval;
+    private volatile long quota;
+    private boolean loaded;
+
+    public MirrorCache(File root, long quotaMegabytes) {
+        this(root, quotaMegabytes, SIZE_INTERVAL);
+    }
+
+    MirrorCache(File root, long quotaMegabytes, long sizeInterval) {
+        this.root = root;
+        this.sizeInterval = sizeInterval;
+        setQuota(quotaMegabytes);
+    }
+
+    public void setQuota(long quotaMegabytes) {
+        this.quota = Math.max(0, quotaMegabytes) * MEGABYTE;
+    }
+
+    public boolean isEnabled() {
+        return quota > 0;
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the mirror for the remote URL, the directory is empty when the mirror has not been created yet.
+     * The mirror can not be evicted until it is closed.
+     */
+    public synchronized Mirror acquire(String remoteUrl) {
+        loadExistingMirrors();
+        String name = Util.getDigestOf(remoteUrl);
+        Mirror mirror = mirrors.get(name);
+        if (mirror == null) {
+            mirror = new Mirror(new File(root, name));
+            mirrors.put(name, mirror);
+        }
+        mirror.users++;
+        if (!mirror.directory.isDirectory() && !mirror.directory.mkdirs()) {
+            LOGGER.log(Level.WARNING, Messages.MirrorCache_createFailed(mirror.directory));
+        }
+        return mirror;
+    }
+
+    public synchronized long getSize() {
+        long size = 0;
+        for (Mirror mirror : mirrors.values()) {
+            size += mirror.size;
+        }
+        return size;
+    }
+
+    private void release(Mirror mirror) {
+        List<File> evicted;
+        synchronized (this) {
+            mirror.users--;
+            mirror.lastUsed = System.currentTimeMillis();
+            evicted = evict();
+        }
+        if (!mirror.directory.setLastModified(mirror.lastUsed)) {
+            LOGGER.log(Level.FINE, "Unable to set last modified time of {0}", mirror.directory);
+        }
+        for (File directory : evicted) {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Removes the least recently used mirrors, until the quota is satisfied.
+     * Directories are only renamed here, the caller deletes them outside of the lock.
+     */
+    private List<File> evict() {
+        List<File> evicted = new ArrayList<>();
+        long size = getSize();
+        if (size <= quota) {
+            return evicted;
+        }
+
+        List<Mirror> candidates = new ArrayList<>(mirrors.values());
+        candidates.sort(Comparator.comparingLong(m -> m.lastUsed));
+        for (Mirror candidate : candidates) {
+            if (size <= quota) {
+                break;
+            }
+            if (candidate.users > 0) {
+                continue;
+            }
+            mirrors.remove(candidate.directory.getName());
+            candidate.closeRepository();
+            size -= candidate.size;
+            File deleting = new File(root, candidate.directory.getName() + DELETING_SUFFIX);
+            if (candidate.directory.renameTo(deleting)) {
+                evicted.add(deleting);
+            } else {
+                evicted.add(candidate.directory);
+            }
+            LOGGER.log(Level.INFO, Messages.MirrorCache_evicted(candidate.directory));
+        }
+        return evicted;
+    }
+
+    private void loadExistingMirrors() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        File[] directories = root.listFiles(File::isDirectory);
+        if (directories == null) {
+            return;
+        }
+        for (File directory : directories) {
+            if (directory.getName().endsWith(DELETING_SUFFIX)) {
+                delete(directory);
+                continue;
+            }
+            Mirror mirror = new Mirror(directory);
+            mirror.size = sizeOf(directory);
+            mirror.sizeTime = System.currentTimeMillis();
+            mirror.lastUsed = directory.lastModified();
+            mirrors.put(directory.getName(), mirror);
+        }
+    }
+
+    private static long sizeOf(File directory) {
+        return directory.isDirectory() ? FileUtils.sizeOfDirectory(directory) : 0;
+    }
+
+    private void delete(File directory) {
+        try {
+            Util.deleteRecursive(directory);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, Messages.MirrorCache_deleteFailed(directory), e);
+        }
+    }
+
+    public final class Mirror implements Closeable {
+        private final File directory;
+        private int users;
+        private long size;
+        private long sizeTime;
+        private long lastUsed;
+        private Repository repository;
+
+        private Mirror(File directory) {
+            this.directory = directory;
+        }
+
+        public File getDirectory() {
+            return directory;
+        }
+
+        /**
+         * Records the size of the mirror after it was fetched, unless it was recorded within the size interval
+         */
+        public void updateSize() {
+            synchronized (MirrorCache.this) {
+                if (sizeTime > 0 && System.currentTimeMillis() - sizeTime < sizeInterval) {
+                    return;
+                }
+                // Set before the walk, concurrent fetches of one mirror do not measure it again
+                sizeTime = System.currentTimeMillis();
+            }
+            long size = sizeOf(directory);
+            synchronized (MirrorCache.this) {
+                this.size = size;
+            }
+        }
+
+        /**
+         * Shared repository of the mirror, it must not be closed by the caller
+         *
+         * @throws IOException when the mirror has not been created yet
+         */
+        public synchronized Repository getRepository() throws IOException {
+            if (repository == null) {
+                repository = new FileRepositoryBuilder()
+                        .setGitDir(new File(directory, Constants.DOT_GIT))
+                        .setMustExist(true)
+                        .build();
+            }
+            return repository;
+        }
+
+        private synchronized void closeRepository() {
+            if (repository != null) {
+                repository.close();
+                repository = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import net.uaznia.lukanus.hudson.plugins.gitparameter.model.ItemsErrorModel;
+
+/**
+ * Controller wide cache of computed parameter values.
+ * <p>
+ * Entries older than the time to live are still served, but a background refresh is started
+ * (stale-while-revalidate), so the 'Build with Parameters' page does not wait for the remote.
+ * Concurrent loads of the same key wait for one computation and share its value, so a burst of requests
+ * asks the remote once.
+ */
+public class ReferencesCache {
+    private static final Logger LOGGER = Logger.getLogger(ReferencesCache.class.getName());
+    private static final int REFRESH_THREADS = 2;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, CompletableFuture<ItemsErrorModel>> loading = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    private volatile long timeToLive;
+    private volatile int maxEntries;
+
+    public ReferencesCache(long timeToLive, TimeUnit unit, int maxEntries) {
+        configure(timeToLive, unit, maxEntries);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "GitParameter references refresh"));
+        executor.allowCoreThreadTimeOut(true);
+        this.refreshExecutor = executor;
+    }
+
+    public void configure(long timeToLive, TimeUnit unit, int maxEntries) {
+        this.timeToLive = unit.toMillis(Math.max(0, timeToLive));
+        this.maxEntries = Math.max(0, maxEntries);
+        synchronized (entries) {
+            trim();
+        }
+    }
+
+    public boolean isEnabled() {
+        return timeToLive > 0 && maxEntries > 0;
+    }
+
+    /**
+     * Returns the cached value for the key, computing it with the loader when it is missing.
+     * A stale value is returned immediately and refreshed in the background.
+     *
+     * @param name name of the job, logged instead of the key when the refresh fails
+     */
+    public ItemsErrorModel get(String key, String name, Supplier<ItemsErrorModel> loader) {
+        if (!isEnabled()) {
+            return load(key, loader);
+        }
+
+        Entry entry = getEntry(key);
+        if (entry == null) {
+            return load(key, loader);
+        }
+        if (entry.isStale(timeToLive)) {
+            refreshAsync(key, name, loader);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value when it is not older than the time to live, nothing is loaded.
+     */
+    public ItemsErrorModel getIfFresh(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Entry entry = getEntry(key);
+        return entry == null || entry.isStale(timeToLive) ? null : entry.value;
+    }
+
+    /**
+     * Computes the value for the key now and stores it, used to fill the cache before the value is requested.
+     */
+    public void refresh(String key, String name, Supplier<ItemsErrorModel> loader) {
+        if (isEnabled()) {
+            load(key, loader);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry getEntry(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Computes the value, or waits for the computation of the same key started by another thread
+     */
+    private ItemsErrorModel load(String key, Supplier<ItemsErrorModel> loader) {
+        CompletableFuture<ItemsErrorModel> flight = new CompletableFuture<>();
+        CompletableFuture<ItemsErrorModel> running = loading.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            ItemsErrorModel value = loader.get();
+            put(key, value);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    private static ItemsErrorModel await(CompletableFuture<ItemsErrorModel> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private void put(String key, ItemsErrorModel value) {
+        // Errors are not cached, the next request should try again
+        if (!isEnabled() || value == null || !value.getErrors().isEmpty()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(value, System.currentTimeMillis()));
+            trim();
+        }
+    }
+
+    private void trim() {
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void refreshAsync(final String key, final String name, final Supplier<ItemsErrorModel> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.submit(() -> {
+                try (ACLContext ignored = ACL.as(ACL.SYSTEM)) {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, Messages.ReferencesCache_refreshFailed(name), e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            LOGGER.log(Level.WARNING, Messages.ReferencesCache_refreshFailed(name), e);
+        }
+    }
+
+    private static final class Entry {
+        private final ItemsErrorModel value;
+        private final long created;
+
+        private Entry(ItemsErrorModel value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+
+        private boolean isStale(long timeToLive) {
+            return System.currentTimeMillis() - created > timeToLive;
+        }
+    }
+}
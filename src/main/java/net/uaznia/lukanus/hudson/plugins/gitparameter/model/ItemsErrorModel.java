@@ -1,17 +1,19 @@
 package net.uaznia.lukanus.hudson.plugins.gitparameter.model;
 
+import net.sf.json.util.JSONUtils;
 import org.apache.commons.lang.StringUtils;
 import org.kohsuke.stapler.HttpResponse;
 import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.StaplerResponse;
 import org.kohsuke.stapler.export.Exported;
 import org.kohsuke.stapler.export.ExportedBean;
-import org.kohsuke.stapler.export.Flavor;
 
 import javax.servlet.ServletException;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @ExportedBean
 public class ItemsErrorModel implements HttpResponse {
@@ -44,6 +46,11 @@ public class ItemsErrorModel implements HttpResponse {
     @Exported
     public List<String> errors = new ArrayList<>();
 
+    private int offset;
+    private int total = -1;
+    // Lower case names of values, built by the first filter of a cached list
+    private transient volatile String[] searchIndex;
+
     public void add(String value) {
         values.add(new Option(value));
     }
@@ -72,8 +79,122 @@ public class ItemsErrorModel implements HttpResponse {
         errors.add(error);
     }
 
+    /**
+     * Position of the first value in the whole list, when this is a page.
+     */
+    @Exported
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Size of the whole list, when this is a page.
+     */
+    @Exported
+    public int getTotal() {
+        return total < 0 ? values.size() : total;
+    }
+
+    /**
+     * Returns a part of values, errors are returned only with the first page.
+     *
+     * @param offset position of the first value
+     * @param limit  maximum number of values, 0 or less means all remaining values
+     */
+    public ItemsErrorModel page(int offset, int limit) {
+        ItemsErrorModel page = new ItemsErrorModel();
+        int from = Math.min(Math.max(offset, 0), values.size());
+        int to = limit > 0 ? Math.min(from + limit, values.size()) : values.size();
+        page.values.addAll(values.subList(from, to));
+        if (from == 0) {
+            page.errors.addAll(errors);
+        }
+        page.offset = from;
+        page.total = values.size();
+        return page;
+    }
+
+    /**
+     * Returns values with the name containing the filter, ignoring case, in the order of the list.
+     *
+     * @param filter text searched in names, empty means all values
+     * @param limit  maximum number of values, 0 or less means all matching values
+     */
+    public ItemsErrorModel filter(String filter, int limit) {
+        if (StringUtils.isEmpty(filter)) {
+            return page(0, limit);
+        }
+        String search = filter.toLowerCase(Locale.ENGLISH);
+        String[] names = getSearchIndex();
+        ItemsErrorModel matches = new ItemsErrorModel();
+        int count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].contains(search)) {
+                if (limit <= 0 || count < limit) {
+                    matches.values.add(values.get(i));
+                }
+                count++;
+            }
+        }
+        matches.errors.addAll(errors);
+        matches.total = count;
+        return matches;
+    }
+
+    private String[] getSearchIndex() {
+        String[] index = searchIndex;
+        if (index == null || index.length != values.size()) {
+            index = new String[values.size()];
+            for (int i = 0; i < index.length; i++) {
+                index[i] = values.get(i).name.toLowerCase(Locale.ENGLISH);
+            }
+            searchIndex = index;
+        }
+        return index;
+    }
+
     public void writeTo(StaplerRequest req, StaplerResponse rsp) throws IOException, ServletException {
-        rsp.serveExposedBean(req, this, Flavor.JSON);
+        rsp.setContentType("application/json;charset=UTF-8");
+        try (Writer writer = rsp.getCompressedWriter(req)) {
+            writeJson(writer);
+        }
+    }
+
+    /**
+     * Writes the compact JSON form: {@code {"values":[...],"labels":[...],"errors":[...],"offset":0,"total":2}}.
+     * Labels are written only when a name differs from its value, branches and tags have the same ones.
+     */
+    void writeJson(Writer writer) throws IOException {
+        boolean labels = false;
+        for (Option option : values) {
+            if (!StringUtils.equals(option.name, option.value)) {
+                labels = true;
+                break;
+            }
+        }
+
+        writer.write("{\"values\":[");
+        for (int i = 0; i < values.size(); i++) {
+            writeString(writer, i, values.get(i).value);
+        }
+        if (labels) {
+            writer.write("],\"labels\":[");
+            for (int i = 0; i < values.size(); i++) {
+                writeString(writer, i, values.get(i).name);
+            }
+        }
+        writer.write("],\"errors\":[");
+        for (int i = 0; i < errors.size(); i++) {
+            writeString(writer, i, errors.get(i));
+        }
+        writer.write("],\"offset\":" + getOffset() + ",\"total\":" + getTotal() + "}");
+    }
+
+    private static void writeString(Writer writer, int index, String value) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        writer.write(value == null ? "null" : JSONUtils.quote(value));
     }
 
     @Override
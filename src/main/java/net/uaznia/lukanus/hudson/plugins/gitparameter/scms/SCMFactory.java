@@ -22,23 +22,30 @@ public class SCMFactory {
     private static final Logger LOGGER = Logger.getLogger(SCMFactory.class.getName());
 
     public static List<GitSCM> getGitSCMs(JobWrapper jobWrapper, String repositoryRegExpName) {
+        Pattern repositoryNamePattern = null;
+        if (!Strings.isNullOrEmpty(repositoryRegExpName)) {
+            try {
+                repositoryNamePattern = Pattern.compile(repositoryRegExpName);
+            } catch (Exception e) {
+                LOGGER.log(Level.INFO, Messages.SCMFactory_invalidUseRepositoryPattern(repositoryRegExpName), e.getMessage());
+            }
+        }
+        return getMatchingGitSCMs(jobWrapper, repositoryNamePattern);
+    }
+
+    /**
+     * @param repositoryNamePattern compiled repository name, null means the first git SCM
+     */
+    public static List<GitSCM> getMatchingGitSCMs(JobWrapper jobWrapper, Pattern repositoryNamePattern) {
 
         List<SCM> scms = getSCMs(jobWrapper);
         if (scms.isEmpty()) {
             return Collections.emptyList();
         }
-        if (Strings.isNullOrEmpty(repositoryRegExpName)) {
+        if (repositoryNamePattern == null) {
             return getFirstGitSCM(scms);
-        } else {
-            Pattern repositoryNamePattern;
-            try {
-                repositoryNamePattern = Pattern.compile(repositoryRegExpName);
-            } catch (Exception e) {
-                LOGGER.log(Level.INFO, Messages.SCMFactory_invalidUseRepositoryPattern(repositoryRegExpName), e.getMessage());
-                return getFirstGitSCM(scms);
-            }
-            return matchAndGetGitSCM(scms, repositoryNamePattern);
         }
+        return matchAndGetGitSCM(scms, repositoryNamePattern);
     }
 
     private static List<GitSCM> matchAndGetGitSCM(List<SCM> scms, Pattern repositoryNamePattern) {
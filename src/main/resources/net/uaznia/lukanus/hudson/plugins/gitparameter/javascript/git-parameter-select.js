@@ -1,4 +1,4 @@
-// send async request to the given URL (which will send back serialized ListBoxModel object),
+// send async request to the given URL (which will send back the compact values, see gitParameterParseResponse),
 // then use the result to fill the list box.
 function gitParameterUpdateSelect(listBox, url, divId, config) {
     config = config || {};
@@ -10,33 +10,25 @@ function gitParameterUpdateSelect(listBox, url, divId, config) {
         status.innerHTML = "";
     }
     config.onSuccess = function (rsp) {
-        l.removeClassName("select-ajax-pending");
         var currentSelection = l.value;
+        var rspJson = gitParameterParseResponse(rsp);
 
-        // clear the contents
-        while (l.length > 0) l.options[0] = null;
-
-        var selectionSet = false; // is the selection forced by the server?
-        var possibleIndex = null; // if there's a new option that matches the current value, remember its index
-        var opts = eval('(' + rsp.responseText + ')').values;
-        for (var i = 0; i < opts.length; i++) {
-            l.options[i] = new Option(opts[i].name, opts[i].value);
-            if (opts[i].selected) {
-                l.selectedIndex = i;
-                selectionSet = true;
-            }
-            if (opts[i].value === currentSelection)
-                possibleIndex = i;
-        }
+        // the list box stays pending until all options are rendered
+        gitParameterReplaceOptions(l, rspJson.labels, rspJson.values, function () {
+            l.removeClassName("select-ajax-pending");
 
-        // if no value is explicitly selected by the server, try to select the same value
-        if (!selectionSet && possibleIndex != null)
-            l.selectedIndex = possibleIndex;
+            // try to select the same value
+            var possibleIndex = rspJson.values.indexOf(currentSelection);
+            if (possibleIndex !== -1)
+                l.selectedIndex = possibleIndex;
 
-        if (originalOnSuccess !== undefined)
-            originalOnSuccess(rsp);
+            gitParameterSetNextOffset(l, rspJson);
 
-        var errors = eval('(' + rsp.responseText + ')').errors
+            if (originalOnSuccess !== undefined)
+                originalOnSuccess(rsp);
+        });
+
+        var errors = rspJson.errors
         let error_div = $("git_parameter_errors_" + divId);
         if (errors.length !== 0) {
             error_div.show();
@@ -49,7 +41,7 @@ function gitParameterUpdateSelect(listBox, url, divId, config) {
             $error_ul.update(lis);
         }
         else {
-            $error_div.hide()
+            error_div.hide()
         }
 
     };
@@ -64,7 +56,7 @@ function gitParameterUpdateSelect(listBox, url, divId, config) {
         var header = rsp.getResponseHeader('X-Jenkins-Select-Error');
         if (header && "clear" === header.toLowerCase()) {
             // clear the contents
-            while (l.length > 0) l.options[0] = null;
+            gitParameterReplaceOptions(l, [], []);
         }
 
     };
@@ -73,6 +65,104 @@ function gitParameterUpdateSelect(listBox, url, divId, config) {
     new Ajax.Request(url, config);
 }
 
+// parses the response once, labels are sent only when they differ from values
+function gitParameterParseResponse(rsp) {
+    var rspJson = JSON.parse(rsp.responseText);
+    if (!rspJson.labels)
+        rspJson.labels = rspJson.values;
+    return rspJson;
+}
+
+// number of options rendered at once, the rest is rendered in the next frames so the page is not blocked
+var GIT_PARAMETER_RENDER_CHUNK = 2000;
+
+// replaces all options of the list box, see gitParameterAppendOptions
+function gitParameterReplaceOptions(listBox, labels, values, onRendered) {
+    // one reset instead of removing options one by one, which is quadratic in some browsers
+    listBox.options.length = 0;
+    gitParameterAppendOptions(listBox, labels, values, onRendered);
+}
+
+// appends options built in a document fragment, a chunk per animation frame;
+// a later call takes over the list box and rendering of the previous one stops
+function gitParameterAppendOptions(listBox, labels, values, onRendered) {
+    var rendering = {};
+    listBox.gitParameterRendering = rendering;
+
+    function renderChunk(from) {
+        if (listBox.gitParameterRendering !== rendering)
+            return;
+        var to = Math.min(from + GIT_PARAMETER_RENDER_CHUNK, values.length);
+        var fragment = document.createDocumentFragment();
+        for (var i = from; i < to; i++) {
+            var option = document.createElement("option");
+            option.text = labels[i];
+            option.value = values[i];
+            fragment.appendChild(option);
+        }
+        listBox.appendChild(fragment);
+
+        if (to < values.length) {
+            window.requestAnimationFrame(function () {
+                renderChunk(to);
+            });
+        } else {
+            listBox.gitParameterRendering = null;
+            if (onRendered !== undefined)
+                onRendered();
+        }
+    }
+
+    renderChunk(0);
+}
+
+// remembers the offset of the next page, when the server returned only a part of values
+function gitParameterSetNextOffset(listBox, rspJson) {
+    var nextOffset = rspJson.offset + rspJson.values.length;
+    if (rspJson.total > nextOffset) {
+        listBox.setAttribute("nextOffset", nextOffset);
+    } else {
+        listBox.removeAttribute("nextOffset");
+    }
+}
+
+// appends the next page of values to the list box, returns false when there is nothing to load
+function gitParameterLoadNextPage(listBox, onLoaded) {
+    var l = $(listBox);
+    var offset = l.getAttribute("nextOffset");
+    if (offset === null || l.hasClassName("select-ajax-pending") || l.gitParameterRendering) {
+        return false;
+    }
+    l.addClassName("select-ajax-pending");
+    new Ajax.Request(l.getAttribute("fillUrl") + "&offset=" + offset, {
+        onSuccess: function (rsp) {
+            var rspJson = gitParameterParseResponse(rsp);
+            gitParameterAppendOptions(l, rspJson.labels, rspJson.values, function () {
+                l.removeClassName("select-ajax-pending");
+                gitParameterSetNextOffset(l, rspJson);
+                if (onLoaded !== undefined)
+                    onLoaded();
+            });
+        },
+        onFailure: function () {
+            l.removeClassName("select-ajax-pending");
+            l.removeAttribute("nextOffset");
+            if (onLoaded !== undefined)
+                onLoaded();
+        }
+    });
+    return true;
+}
+
+// a drop down needs all values, pages are loaded one after another
+function gitParameterLoadAllPages(listBox, onLoaded) {
+    var loading = gitParameterLoadNextPage(listBox, function () {
+        gitParameterLoadAllPages(listBox, onLoaded);
+    });
+    if (!loading)
+        onLoaded();
+}
+
 Behaviour.specify("SELECT.gitParameterSelect", 'gitParameterSelect', 1000, function (e) {
 
     function hasChanged(selectEl, originalValue) {
@@ -96,24 +186,40 @@ Behaviour.specify("SELECT.gitParameterSelect", 'gitParameterSelect', 1000, funct
         gitParameterUpdateSelect(e, e.getAttribute("fillUrl"), e.getAttribute("divId"), {
             parameters: params,
             onSuccess: function () {
-                if (value == "") {
-                    // reflect the initial value. if the control depends on several other SELECT.select,
-                    // it may take several updates before we get the right items, which is why all these precautions.
-                    var v = e.getAttribute("value");
-                    if (v) {
-                        e.value = v;
-                        if (e.value == v) e.removeAttribute("value"); // we were able to apply our initial value
-                    }
+                // the quick filter searches on the server, it does not need all values
+                if (e.getAttribute("nextOffset") !== null && e.size <= 1) {
+                    gitParameterLoadAllPages(e, filled);
+                } else {
+                    filled();
                 }
+            }
+        });
 
-                fireEvent(e, "filled"); // let other interested parties know that the items have changed
-
-                // if the update changed the current selection, others listening to this control needs to be notified.
-                if (hasChanged(e, value)) {
-                    fireEvent(e, "change");
+        function filled() {
+            if (value == "") {
+                // reflect the initial value. if the control depends on several other SELECT.select,
+                // it may take several updates before we get the right items, which is why all these precautions.
+                var v = e.getAttribute("value");
+                if (v) {
+                    e.value = v;
+                    if (e.value == v) e.removeAttribute("value"); // we were able to apply our initial value
                 }
             }
-        });
+
+            fireEvent(e, "filled"); // let other interested parties know that the items have changed
+
+            // if the update changed the current selection, others listening to this control needs to be notified.
+            if (hasChanged(e, value)) {
+                fireEvent(e, "change");
+            }
+        }
+    });
+
+    // a list box loads next pages when it is scrolled to the end
+    e.addEventListener("scroll", function () {
+        if (e.scrollTop + e.clientHeight >= e.scrollHeight - 20) {
+            gitParameterLoadNextPage(e);
+        }
     });
 });
 
@@ -27,13 +27,21 @@ jQuery.noConflict();
 
 var GitParameter = GitParameter || (function($) {
     var instance = {};
+    // the server is asked when the user stops typing for this time (ms)
+    var FILTER_DELAY = 250;
 
     function QuickFilter(parent) {
         this.selectElement = parent.find('.gitParameterSelect').get(0);
         this.filterElement = parent.find('.git_parameter_quick_filter').get(0);
         this.selectedValue = parent.data('selected-value');
         this.defaultValue = parent.data('default-value');
-        this.originalOptions = [];
+        this.originalLabels = [];
+        this.originalValues = [];
+        this.filterUrl = jQuery(this.selectElement).attr('filterUrl');
+        this.filterTimer = null;
+        this.filterRequest = 0;
+        this.filtering = false;
+        this.nextOffset = null;
 
         jQuery(this.filterElement).prop("disabled",true);
 
@@ -56,10 +64,6 @@ var GitParameter = GitParameter || (function($) {
             return this.defaultValue;
     }
 
-    QuickFilter.prototype.getOriginalOptions = function() {
-        return this.originalOptions;
-    }
-
     QuickFilter.prototype.setSelected = function() {
         var _self = this;
         var filteredElement = jQuery(_self.getSelectElement()).get(0);
@@ -106,11 +110,7 @@ var GitParameter = GitParameter || (function($) {
         var _self = this;
 
         jQuery(_self.getSelectElement()).on("filled", function() {
-            var options = _self.getSelectElement().options;
-
-            for (var i = 0; i < options.length; ++i) {
-                _self.getOriginalOptions().push(options[i]);
-            }
+            _self.filtering = false;
 
             _self.setSelected();
 
@@ -118,30 +118,91 @@ var GitParameter = GitParameter || (function($) {
             console.log("Quick Filter handler filled event." );
         });
 
-        jQuery(_self.filterElement).keyup(function(e) {
-            var filterElement = _self.getFilterElement();
-            var filteredElement = _self.getSelectElement();
-            var originalOptions = _self.getOriginalOptions();
+        jQuery(_self.filterElement).keyup(function() {
+            _self.scheduleFilter();
+        });
+    }
+
+    QuickFilter.prototype.scheduleFilter = function() {
+        var _self = this;
+        clearTimeout(_self.filterTimer);
+        _self.filterTimer = setTimeout(function() {
+            // values which are being loaded or rendered are filtered when they are complete
+            if (jQuery(_self.getSelectElement()).hasClass("select-ajax-pending")) {
+                _self.scheduleFilter();
+            } else {
+                _self.filter(_self.getFilterElement().value.trim());
+            }
+        }, FILTER_DELAY);
+    }
+
+    // values are searched on the server, only the matching values are sent back
+    QuickFilter.prototype.filter = function(search) {
+        var _self = this;
+        var filteredElement = _self.getSelectElement();
+        var request = ++_self.filterRequest;
+
+        if (search.length === 0) {
+            if (_self.filtering) {
+                _self.filtering = false;
+                _self.showOptions(_self.originalLabels, _self.originalValues);
+                if (_self.nextOffset !== null) {
+                    filteredElement.setAttribute("nextOffset", _self.nextOffset);
+                }
+            }
+            return;
+        }
+
+        if (!_self.filtering) {
+            // remember all values loaded so far, they are shown again when the filter is cleared
+            _self.filtering = true;
+            _self.originalLabels = [];
+            _self.originalValues = [];
+            for (var i = 0; i < filteredElement.options.length; i++) {
+                _self.originalLabels.push(filteredElement.options[i].text);
+                _self.originalValues.push(filteredElement.options[i].value);
+            }
+            _self.nextOffset = filteredElement.getAttribute("nextOffset");
+            filteredElement.removeAttribute("nextOffset");
+        }
 
-            var search = filterElement.value.trim();
-            var regex = new RegExp(search,"gi");
+        // without the cache on the server all values are loaded, they are searched here
+        if (isEmpty(_self.filterUrl)) {
+            _self.filterLoaded(search);
+            return;
+        }
 
-            var filteredOptions = Array();
-            $.each(originalOptions, function(i) {
-                var option = originalOptions[i];
-                if(option.text.match(regex) !== null) {
-                    filteredOptions.push(option)
+        new Ajax.Request(_self.filterUrl + "&filter=" + encodeURIComponent(search), {
+            onSuccess: function(rsp) {
+                // a response of an older search is dropped
+                if (request !== _self.filterRequest) {
+                    return;
                 }
-            });
-
-            jQuery(filteredElement).children().remove();
-            for (var i = 0; i < filteredOptions.length ; ++i) {
-                var opt = document.createElement('option');
-                opt.value = filteredOptions[i].value;
-                opt.innerHTML = filteredOptions[i].innerHTML;
-                jQuery(filteredElement).append(opt);
+                var rspJson = gitParameterParseResponse(rsp);
+                _self.showOptions(rspJson.labels, rspJson.values);
+            }
+        });
+    }
+
+    QuickFilter.prototype.filterLoaded = function(search) {
+        var _self = this;
+        var searchLower = search.toLowerCase();
+        var labels = [];
+        var values = [];
+        for (var i = 0; i < _self.originalLabels.length; i++) {
+            if (_self.originalLabels[i].toLowerCase().indexOf(searchLower) > -1) {
+                labels.push(_self.originalLabels[i]);
+                values.push(_self.originalValues[i]);
             }
+        }
+        _self.showOptions(labels, values);
+    }
+
+    QuickFilter.prototype.showOptions = function(labels, values) {
+        var _self = this;
+        var filteredElement = _self.getSelectElement();
 
+        gitParameterReplaceOptions(filteredElement, labels, values, function() {
             _self.setSelected();
 
             // Propagate the changes made by the filter
@@ -0,0 +1,140 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Test;
+
+public class RefSnapshotTest {
+    private final List<String> computed = new ArrayList<>();
+
+    @Test
+    public void testOnlyChangedReferencesAreComputed() throws Exception {
+        RefSnapshot snapshot = new RefSnapshot(RefOrdering.SMART.reversed());
+        Map<String, ObjectId> tags = references("refs/tags/v1.0.0", "refs/tags/v1.1.0", "refs/tags/v1.2.0");
+        assertTrue(snapshot.isEmpty());
+
+        assertEquals(Arrays.asList("v1.2.0 2", "v1.1.0 1", "v1.0.0 0"), snapshot.update(tags, this::describe, 0));
+        assertEquals(3, computed.size());
+        assertFalse(snapshot.isEmpty());
+
+        computed.clear();
+        assertEquals(Arrays.asList("v1.2.0 2", "v1.1.0 1", "v1.0.0 0"), snapshot.update(tags, this::describe, 0));
+        assertEquals(Collections.emptyList(), computed);
+
+        tags.remove("refs/tags/v1.0.0");
+        tags.put("refs/tags/v1.1.0", ObjectId.fromString("0000000000000000000000000000000000000007"));
+        tags.put("refs/tags/v2.0.0", ObjectId.fromString("0000000000000000000000000000000000000009"));
+        assertEquals(Arrays.asList("v2.0.0 9", "v1.2.0 2", "v1.1.0 7"), snapshot.update(tags, this::describe, 0));
+        assertEquals(Arrays.asList("refs/tags/v1.1.0", "refs/tags/v2.0.0"), computed);
+        assertEquals(Arrays.asList("v2.0.0 9", "v1.2.0 2"), snapshot.update(tags, this::describe, 2));
+    }
+
+    @Test
+    public void testMissingValueIsComputedAgain() throws Exception {
+        RefSnapshot snapshot = new RefSnapshot(RefOrdering.NATURAL);
+        Map<String, ObjectId> tags = references("refs/tags/a", "refs/tags/b");
+
+        assertEquals(Collections.singletonList("b 1"), snapshot.update(tags, changed -> {
+            Map<String, String> values = describe(changed);
+            values.remove("refs/tags/a");
+            return values;
+        }, 0));
+
+        computed.clear();
+        assertEquals(Arrays.asList("a 0", "b 1"), snapshot.update(tags, this::describe, 0));
+        assertEquals(Collections.singletonList("refs/tags/a"), computed);
+    }
+
+    @Test
+    public void testFailedComputationKeepsSnapshot() throws Exception {
+        RefSnapshot snapshot = new RefSnapshot(RefOrdering.NATURAL);
+        Map<String, ObjectId> tags = references("refs/tags/a", "refs/tags/b");
+        assertEquals(Arrays.asList("a 0", "b 1"), snapshot.update(tags, this::describe, 0));
+
+        tags.put("refs/tags/c", ObjectId.fromString("0000000000000000000000000000000000000002"));
+        try {
+            snapshot.update(tags, changed -> {
+                throw new IOException("fetch failed");
+            }, 0);
+            fail("The failure is thrown");
+        } catch (IOException e) {
+            assertEquals("fetch failed", e.getMessage());
+        }
+
+        computed.clear();
+        assertEquals(Arrays.asList("a 0", "b 1", "c 2"), snapshot.update(tags, this::describe, 0));
+        assertEquals(Collections.singletonList("refs/tags/c"), computed);
+    }
+
+    @Test
+    public void testSharedValueIsRemovedWithLastReference() throws Exception {
+        RefSnapshot snapshot = new RefSnapshot(RefOrdering.NATURAL);
+        Map<String, ObjectId> pulls = references("refs/pull/1/head", "refs/pull/1/merge", "refs/pull/2/head", "refs/heads/master");
+        RefSnapshot.Values numbers = changed -> {
+            Map<String, String> values = new HashMap<>();
+            for (String reference : changed.keySet()) {
+                values.put(reference, reference.startsWith("refs/pull/") ? reference.split("/")[2] : null);
+            }
+            return values;
+        };
+
+        assertEquals(Arrays.asList("1", "2"), snapshot.update(pulls, numbers, 0));
+        pulls.remove("refs/pull/1/merge");
+        assertEquals(Arrays.asList("1", "2"), snapshot.update(pulls, numbers, 0));
+        pulls.remove("refs/pull/1/head");
+        assertEquals(Collections.singletonList("2"), snapshot.update(pulls, numbers, 0));
+    }
+
+    @Test
+    public void testValuesAreComputedWithoutLock() throws Exception {
+        RefSnapshot snapshot = new RefSnapshot(RefOrdering.NATURAL);
+        Map<String, ObjectId> tags = references("refs/tags/a");
+        snapshot.update(tags, this::describe, 0);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(Arrays.asList("a 0", "b 1"), snapshot.update(references("refs/tags/a", "refs/tags/b"), changed -> {
+                // Another request of the same remote is answered while this one describes
+                assertEquals(Collections.singletonList("a 0"),
+                        executor.submit(() -> snapshot.update(tags, this::describe, 0)).get(10, TimeUnit.SECONDS));
+                return describe(changed);
+            }, 0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, String> describe(Map<String, ObjectId> changed) {
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<String, ObjectId> reference : changed.entrySet()) {
+            computed.add(reference.getKey());
+            String name = reference.getKey().substring("refs/tags/".length());
+            values.put(reference.getKey(), name + " " + reference.getValue().getName().replaceFirst("^0+(?=.)", ""));
+        }
+        return values;
+    }
+
+    private static Map<String, ObjectId> references(String... names) {
+        Map<String, ObjectId> references = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            references.put(names[i], ObjectId.fromString(String.format("%040x", i)));
+        }
+        return references;
+    }
+}
@@ -0,0 +1,79 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.jenkinsci.plugins.gitclient.GitClient;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RemoteReferencesTest {
+    private static final String URL = "https://github.com/jenkinsci/git-parameter-plugin.git";
+    private static final ObjectId COMMIT = ObjectId.fromString("3f2e96a8e6c8a24dcc1d3a3d4a1a4b6dff6e0ed1");
+    private static final ObjectId TAG = ObjectId.fromString("9b5c5d2a3e2e1a27e5a4d5d1ef55f0b8c7e0aa12");
+
+    private GitClient gitClient;
+
+    @Before
+    public void setUp() throws Exception {
+        Map<String, ObjectId> references = new LinkedHashMap<>();
+        references.put("HEAD", COMMIT);
+        references.put("refs/heads/master", COMMIT);
+        references.put("refs/heads/feature/one", COMMIT);
+        references.put("refs/pull/12/head", COMMIT);
+        references.put("refs/tags/git-parameter-0.2", TAG);
+        references.put("refs/tags/git-parameter-0.2^{}", COMMIT);
+        references.put("refs/tags/v1.0", COMMIT);
+
+        gitClient = mock(GitClient.class);
+        when(gitClient.getRemoteReferences(URL, null, false, false)).thenReturn(references);
+    }
+
+    @Test
+    public void testOneAdvertisement() throws Exception {
+        RemoteReferences remoteReferences = new RemoteReferences(gitClient, URL);
+
+        assertEquals(2, remoteReferences.getHeads().size());
+        assertEquals(2, remoteReferences.getTags("*").size());
+        assertTrue(remoteReferences.getAll().containsKey("refs/pull/12/head"));
+
+        verify(gitClient, times(1)).getRemoteReferences(URL, null, false, false);
+    }
+
+    @Test
+    public void testPeeledTag() throws Exception {
+        Map<String, ObjectId> tags = new RemoteReferences(gitClient, URL).getTags(null);
+
+        assertEquals(COMMIT, tags.get("refs/tags/git-parameter-0.2"));
+        assertFalse(tags.containsKey("refs/tags/git-parameter-0.2^{}"));
+    }
+
+    @Test
+    public void testTagPattern() throws Exception {
+        RemoteReferences remoteReferences = new RemoteReferences(gitClient, URL);
+
+        assertEquals(1, remoteReferences.getTags("v1.*").size());
+        assertEquals(1, remoteReferences.getTags("git-parameter-?.?").size());
+        assertEquals(0, remoteReferences.getTags("1.0").size());
+    }
+
+    @Test
+    public void testTailPattern() {
+        Pattern pattern = RemoteReferences.compileTailPattern("v[0-9].*");
+
+        assertTrue(pattern.matcher("/refs/tags/v1.0").matches());
+        assertTrue(pattern.matcher("/refs/tags/release/v2.1").matches());
+        assertFalse(pattern.matcher("/refs/tags/va.1").matches());
+        assertFalse(pattern.matcher("/refs/tags/xv1.0").matches());
+    }
+}
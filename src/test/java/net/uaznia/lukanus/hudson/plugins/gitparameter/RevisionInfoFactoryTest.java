@@ -1,15 +1,22 @@
 package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
 import hudson.plugins.git.GitException;
+import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
 import org.jenkinsci.plugins.gitclient.GitClient;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RevisionInfoFactoryTest {
@@ -70,6 +77,9 @@ public class RevisionInfoFactoryTest {
             "",
             ":100644 100644 ab9cfc8ef1c067ef36fb45741be8b9444ba7085c a01738c8f727254fdcf9d03fcb0965567104a31e M\tREADME.textile"};
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testNoAuthor() throws InterruptedException {
         GitClient gitClient = mock(GitClient.class);
@@ -99,4 +109,34 @@ public class RevisionInfoFactoryTest {
         assertEquals(SHORT_COMMIT_HASH_3, revisionInfo.getRevisionInfo());
         assertEquals(COMMIT_HASH_3, revisionInfo.getSha1());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCliReaderReadsRevisionsOneByOne() throws Exception {
+        GitClient gitClient = mock(GitClient.class);
+        when(gitClient.revListAll()).thenReturn(Arrays.asList(SHA1_1));
+        when(gitClient.showRevision(SHA1_1)).thenReturn(Arrays.asList(RAW_1));
+
+        RevisionInfoFactory revisionInfoFactory = new RevisionInfoFactory(gitClient, null, 0, RepositoryReader.CLI, null);
+        List<RevisionInfo> revisions = revisionInfoFactory.getRevisions();
+
+        assertEquals(1, revisions.size());
+        assertEquals(COMMIT_HASH_1, revisions.get(0).getSha1());
+        verify(gitClient, never()).withRepository(any());
+    }
+
+    @Test
+    public void testJGitReaderUsesSharedRepository() throws Exception {
+        GitClient gitClient = mock(GitClient.class);
+        try (Git git = Git.init().setDirectory(temporaryFolder.getRoot()).call()) {
+            RevCommit commit = git.commit().setMessage("Version 0.9.2").call();
+
+            RevisionInfoFactory revisionInfoFactory = new RevisionInfoFactory(gitClient, null, 0, RepositoryReader.JGIT, git.getRepository());
+            List<RevisionInfo> revisions = revisionInfoFactory.getRevisions();
+
+            assertEquals(1, revisions.size());
+            assertEquals(commit.getName(), revisions.get(0).getSha1());
+            verify(gitClient, never()).withRepository(any());
+            verify(gitClient, never()).revListAll();
+        }
+    }
+}
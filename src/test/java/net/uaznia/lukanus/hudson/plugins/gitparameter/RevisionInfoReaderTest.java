@@ -0,0 +1,77 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RevisionInfoReaderTest {
+    private static final TimeZone ZONE = TimeZone.getTimeZone("GMT+02:00");
+    private static final PersonIdent AUTHOR_1 = new PersonIdent("klimas7", "klimas7@gmail.com", new Date(1523905899000L), ZONE);
+    private static final PersonIdent AUTHOR_2 = new PersonIdent("klimas7", "klimas7@gmail.com", new Date(1523909499000L), ZONE);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRevisionsWithAnnotatedTag() throws Exception {
+        try (Git git = Git.init().setDirectory(temporaryFolder.getRoot()).call()) {
+            RevCommit first = git.commit().setMessage("Version 0.9.2").setAuthor(AUTHOR_1).setCommitter(AUTHOR_1).call();
+            RevCommit second = git.commit().setMessage("Performance improvements\n\nPerformance improvements when listing tags.\n")
+                    .setAuthor(AUTHOR_2).setCommitter(AUTHOR_2).call();
+            git.tag().setName("v1.0").setAnnotated(true).setTagger(AUTHOR_2).setObjectId(second).call();
+
+            List<RevisionInfo> revisions = new RevisionInfoReader(null).invoke(git.getRepository(), null);
+
+            assertEquals(2, revisions.size());
+            assertEquals(second.getName(), revisions.get(0).getSha1());
+            assertEquals(second.getName().substring(0, 7) + " (v1.0) 2018-04-16 22:11 klimas7 <klimas7@gmail.com> Performance improvements Performance improvements when listing tags.",
+                    revisions.get(0).getRevisionInfo());
+            assertEquals(first.getName(), revisions.get(1).getSha1());
+            assertEquals(first.getName().substring(0, 7) + " 2018-04-16 21:11 klimas7 <klimas7@gmail.com> Version 0.9.2",
+                    revisions.get(1).getRevisionInfo());
+        }
+    }
+
+    @Test
+    public void testLightweightTagIsNotShown() throws Exception {
+        try (Git git = Git.init().setDirectory(temporaryFolder.getRoot()).call()) {
+            RevCommit commit = git.commit().setMessage("Version 0.9.2").setAuthor(AUTHOR_1).setCommitter(AUTHOR_1).call();
+            git.tag().setName("v1.0").setAnnotated(false).setObjectId(commit).call();
+
+            List<RevisionInfo> revisions = new RevisionInfoReader("master").invoke(git.getRepository(), null);
+
+            assertEquals(1, revisions.size());
+            assertEquals(commit.getName().substring(0, 7) + " 2018-04-16 21:11 klimas7 <klimas7@gmail.com> Version 0.9.2",
+                    revisions.get(0).getRevisionInfo());
+        }
+    }
+
+    @Test
+    public void testMaxRevisions() throws Exception {
+        try (Git git = Git.init().setDirectory(temporaryFolder.getRoot()).call()) {
+            git.commit().setMessage("Version 0.9.2").setAuthor(AUTHOR_1).setCommitter(AUTHOR_1).call();
+            RevCommit second = git.commit().setMessage("Performance improvements").setAuthor(AUTHOR_2).setCommitter(AUTHOR_2).call();
+
+            List<RevisionInfo> revisions = new RevisionInfoReader("master", 1).invoke(git.getRepository(), null);
+
+            assertEquals(1, revisions.size());
+            assertEquals(second.getName(), revisions.get(0).getSha1());
+        }
+    }
+
+    @Test
+    public void testAuthorLine() {
+        assertEquals("author klimas7 <klimas7@gmail.com> 1523905899 +0200", RevisionInfoReader.getAuthorLine(AUTHOR_1));
+        PersonIdent west = new PersonIdent("Nick Whelan", "nickw@indeed.com", new Date(1423782469000L), TimeZone.getTimeZone("GMT-06:00"));
+        assertEquals("author Nick Whelan <nickw@indeed.com> 1423782469 -0600", RevisionInfoReader.getAuthorLine(west));
+    }
+}
@@ -2,8 +2,11 @@ package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
 import org.junit.Test;
 
+import java.math.BigInteger;
 import java.util.Comparator;
+import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class SmartNumberStringComparerTest {
@@ -33,4 +36,82 @@ public class SmartNumberStringComparerTest {
         assertTrue(comparer.compare("v_1", "v_2.0.0.0") < 0);
     }
 
+    @Test
+    public void testSmartNumberStringComparerLeadingZeros() {
+        Comparator<String> comparer = new SmartNumberStringComparer();
+        assertTrue(comparer.compare("v_1.01", "v_1.1") > 0);
+        assertTrue(comparer.compare("v_1.001.2", "v_1.1.3") < 0);
+        assertTrue(comparer.compare("v_1.000", "v_1.0") > 0);
+        assertTrue(comparer.compare("v_1.010", "v_1.9") > 0);
+    }
+
+    @Test
+    public void testSmartNumberStringComparerSameOrderingAsTokenComparer() {
+        Comparator<String> comparer = new SmartNumberStringComparer();
+        Comparator<String> tokenComparer = new TokenComparer();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            String a = randomName(random);
+            String b = random.nextInt(4) == 0 ? a : randomName(random);
+            assertEquals(a + " <> " + b, Integer.signum(tokenComparer.compare(a, b)), Integer.signum(comparer.compare(a, b)));
+        }
+    }
+
+    private static String randomName(Random random) {
+        final String alphabet = "0001239v_.-rcRC\u0661\u0660";
+        int length = random.nextInt(12);
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Previous implementation, a token per digit sequence compared as BigInteger
+     */
+    private static class TokenComparer implements Comparator<String> {
+        private String getToken(String str, int index) {
+            char nextChar = str.charAt(index++);
+            StringBuilder token = new StringBuilder(String.valueOf(nextChar));
+            if (!Character.isDigit(nextChar))
+                return token.toString();
+            while (index < str.length()) {
+                nextChar = str.charAt(index++);
+                if (!Character.isDigit(nextChar))
+                    break;
+                token.append(nextChar);
+            }
+            return token.toString();
+        }
+
+        private boolean stringContainsInteger(String str) {
+            for (int charIndex = 0; charIndex < str.length(); charIndex++) {
+                if (!Character.isDigit(str.charAt(charIndex)))
+                    return false;
+            }
+            return true;
+        }
+
+        public int compare(String a, String b) {
+            int aIndex = 0;
+            int bIndex = 0;
+            while (aIndex < a.length() && bIndex < b.length()) {
+                String aToken = getToken(a, aIndex);
+                String bToken = getToken(b, bIndex);
+                int difference;
+                if (stringContainsInteger(aToken) && stringContainsInteger(bToken)) {
+                    difference = new BigInteger(aToken).compareTo(new BigInteger(bToken));
+                } else {
+                    difference = aToken.compareTo(bToken);
+                }
+                if (difference != 0)
+                    return difference;
+                aIndex += aToken.length();
+                bIndex += bToken.length();
+            }
+            return Integer.compare(a.length(), b.length());
+        }
+    }
+
 }
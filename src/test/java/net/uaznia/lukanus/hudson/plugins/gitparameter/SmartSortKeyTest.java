@@ -0,0 +1,69 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class SmartSortKeyTest {
+    private final SmartNumberStringComparer comparer = new SmartNumberStringComparer();
+
+    @Test
+    public void testSameOrderingAsComparer() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100000; i++) {
+            String a = randomName(random);
+            String b = random.nextInt(4) == 0 ? a : randomName(random);
+            assertEquals(a + " <> " + b, Integer.signum(comparer.compare(a, b)),
+                    Integer.signum(new SmartSortKey(a).compareTo(new SmartSortKey(b))));
+        }
+    }
+
+    @Test
+    public void testLongNumbers() {
+        assertOrder("v_1.1.20150122112449123456789.1", "v_1.1.20150122112449123456788.1");
+        assertOrder("v_1.1.20150122112449123456789.1", "v_1.1.0020150122112449123456789.1");
+        assertOrder("v_1.1.999999999999999999.1", "v_1.1.1000000000000000000.1");
+        assertOrder("v_1.000", "v_1.0");
+    }
+
+    @Test
+    public void testSortedNamesSameAsComparer() {
+        Random random = new Random(3);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < 5000) {
+            names.add(randomName(random));
+        }
+
+        RefOrdering.SortedNames sorted = RefOrdering.SMART.sortedNames();
+        for (String name : names) {
+            sorted.add(name);
+        }
+        // Equal names of the comparer (e.g. 0.0c and 00.0) may be listed in any order, only the order of others is compared
+        List<String> listed = sorted.list(0);
+        assertEquals(names.size(), listed.size());
+        for (int i = 1; i < listed.size(); i++) {
+            assertTrue(listed.get(i - 1) + " > " + listed.get(i), comparer.compare(listed.get(i - 1), listed.get(i)) <= 0);
+        }
+    }
+
+    private void assertOrder(String a, String b) {
+        assertEquals(Integer.signum(comparer.compare(a, b)), Integer.signum(new SmartSortKey(a).compareTo(new SmartSortKey(b))));
+        assertEquals(Integer.signum(comparer.compare(b, a)), Integer.signum(new SmartSortKey(b).compareTo(new SmartSortKey(a))));
+    }
+
+    private static String randomName(Random random) {
+        final String alphabet = "00012399v_.-rcRC\u0661\u0660";
+        int length = random.nextInt(30);
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return name.toString();
+    }
+}
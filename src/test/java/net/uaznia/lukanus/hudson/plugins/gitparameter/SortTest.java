@@ -2,13 +2,15 @@ package net.uaznia.lukanus.hudson.plugins.gitparameter;
 
 import org.junit.Test;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
-import static net.uaznia.lukanus.hudson.plugins.gitparameter.Constants.DEFAULT_VALUE;
-import static net.uaznia.lukanus.hudson.plugins.gitparameter.Constants.NAME;
-import static net.uaznia.lukanus.hudson.plugins.gitparameter.Constants.PT_REVISION;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -16,7 +18,6 @@ import static org.junit.Assert.assertTrue;
 public class SortTest {
     @Test
     public void testSortTagsYieldsCorrectOrderWithSmartSortEnabled() {
-        GitParameterDefinition instance = new GitParameterDefinition(NAME, PT_REVISION, DEFAULT_VALUE, "description", "branch", null, null, SortMode.ASCENDING_SMART, SelectedValue.NONE, null, false);
         Set<String> tags = new HashSet<String>();
         tags.add("v_1.0.0.2");
         tags.add("v_1.0.0.5");
@@ -24,7 +25,7 @@ public class SortTest {
         tags.add("v_1.0.0.0");
         tags.add("v_1.0.0.10");
 
-        ArrayList<String> orderedTags = instance.sortByName(tags);
+        List<String> orderedTags = list(SortMode.ASCENDING_SMART, tags, 0);
 
         assertEquals("v_1.0.0.0", orderedTags.get(0));
         assertEquals("v_1.0.0.2", orderedTags.get(1));
@@ -35,7 +36,6 @@ public class SortTest {
 
     @Test
     public void testSortTagsYieldsCorrectOrderWithSmartSortDisabled() {
-        GitParameterDefinition instance = new GitParameterDefinition(NAME, PT_REVISION, DEFAULT_VALUE, "description", "branch", null, null, SortMode.ASCENDING, SelectedValue.NONE, null, false);
         Set<String> tags = new HashSet<String>();
         tags.add("v_1.0.0.2");
         tags.add("v_1.0.0.5");
@@ -43,7 +43,7 @@ public class SortTest {
         tags.add("v_1.0.0.0");
         tags.add("v_1.0.0.10");
 
-        ArrayList<String> orderedTags = instance.sortByName(tags);
+        List<String> orderedTags = list(SortMode.ASCENDING, tags, 0);
 
         assertEquals("v_1.0.0.0", orderedTags.get(0));
         assertEquals("v_1.0.0.10", orderedTags.get(1));
@@ -52,6 +52,97 @@ public class SortTest {
         assertEquals("v_1.0.1.1", orderedTags.get(4));
     }
 
+    @Test
+    public void testTopIsFirstSortedElement() {
+        Set<String> tags = new HashSet<String>();
+        tags.add("v_1.0.0.2");
+        tags.add("v_1.0.0.10");
+        tags.add("release_1.0");
+        tags.add("rc_1.1");
+        tags.add("rc_1.2");
+        tags.add("master");
+
+        for (SortMode sortMode : SortMode.values()) {
+            assertEquals(sortMode.name(), list(sortMode, tags, 0).subList(0, 1), list(sortMode, tags, 1));
+        }
+    }
+
+    @Test
+    public void testRcThenReleaseOrdering() {
+        Set<String> tags = new HashSet<String>(Arrays.asList("v_1.0.0.2", "release_1.0", "rc_1.1", "master", "release_2.0", "rc_1.2"));
+
+        assertEquals(Arrays.asList("rc_1.2", "rc_1.1", "release_2.0", "release_1.0", "v_1.0.0.2", "master"), list(SortMode.RC_THEN_RELEASE, tags, 0));
+    }
+
+    @Test
+    public void testRefOrderingChain() {
+        RefOrdering ordering = RefOrdering.prefixGroups("feature/").then(RefOrdering.SMART.reversed());
+        List<String> names = Arrays.asList("v_1.2", "feature/2", "v_1.10", "feature/10", "master");
+
+        assertEquals(Arrays.asList("feature/10", "feature/2", "v_1.10", "v_1.2", "master"), list(ordering, names, 0));
+        assertEquals(Collections.singletonList("feature/10"), list(ordering, names, 1));
+        assertEquals(names, list(RefOrdering.UNSORTED, names, 0));
+        assertEquals(Collections.singletonList("v_1.2"), list(RefOrdering.UNSORTED, names, 1));
+    }
+
+    @Test
+    public void testSemverOrdering() {
+        Set<String> tags = new HashSet<String>(Arrays.asList("v2.10.0", "v2.10.0-rc.3+build.77", "v2.9.1", "latest",
+                "v2.10.0-rc.10", "v2.10.0-alpha", "2.10.0-rc.3.1", "release/1.0.0", "v2.10", "beta"));
+
+        assertEquals(Arrays.asList("release/1.0.0", "v2.9.1", "v2.10.0-alpha", "v2.10.0-rc.3+build.77", "2.10.0-rc.3.1",
+                "v2.10.0-rc.10", "v2.10.0", "beta", "latest", "v2.10"), list(SortMode.ASCENDING_SEMVER, tags, 0));
+
+        assertEquals(Arrays.asList("v2.10.0", "v2.10.0-rc.10", "2.10.0-rc.3.1", "v2.10.0-rc.3+build.77", "v2.10.0-alpha",
+                "v2.9.1", "release/1.0.0", "beta", "latest", "v2.10"), list(SortMode.DESCENDING_SEMVER, tags, 0));
+        assertEquals(Collections.singletonList("v2.10.0"), list(SortMode.DESCENDING_SEMVER, tags, 1));
+    }
+
+    @Test
+    public void testSemverOrderingOfDecoratedTags() {
+        Set<String> tags = new HashSet<String>(Arrays.asList("v2.9.1 1a2b3c4d 2020-01-10 10:00 John Fix",
+                "v2.10.0 5e6f7a8b 2020-03-01 12:00 John Release 2.10.0", "v2.10.0-rc.1 9c0d1e2f 2020-02-01 09:00 Anna RC",
+                "latest 5e6f7a8b 2020-03-01 12:00 John Release 2.10.0"));
+
+        assertEquals(Arrays.asList("v2.10.0 5e6f7a8b 2020-03-01 12:00 John Release 2.10.0", "v2.10.0-rc.1 9c0d1e2f 2020-02-01 09:00 Anna RC",
+                "v2.9.1 1a2b3c4d 2020-01-10 10:00 John Fix", "latest 5e6f7a8b 2020-03-01 12:00 John Release 2.10.0"), list(SortMode.DESCENDING_SEMVER, tags, 0));
+        assertEquals(Collections.singletonList("v2.10.0 5e6f7a8b 2020-03-01 12:00 John Release 2.10.0"), list(SortMode.DESCENDING_SEMVER, tags, 1));
+        assertEquals(0, SemanticVersion.of("v2.10.0").compareTo(SemanticVersion.of("v2.10.0 5e6f7a8b 2020-03-01 12:00 John")));
+    }
+
+    @Test
+    public void testLimitedListIsPrefixOfList() {
+        Random random = new Random(5);
+        Set<String> tags = new LinkedHashSet<String>();
+        while (tags.size() < 2000) {
+            tags.add((random.nextBoolean() ? "rc" : "v") + random.nextInt(10) + "." + random.nextInt(30) + "." + random.nextInt(100));
+        }
+
+        for (SortMode sortMode : SortMode.values()) {
+            RefOrdering.SortedNames all = sortMode.getOrdering().sortedNames();
+            RefOrdering.SortedNames limited = sortMode.getOrdering().sortedNames();
+            for (String tag : tags) {
+                all.add(tag);
+                limited.add(tag);
+            }
+            List<String> sorted = all.list(0);
+            for (int limit : new int[]{1, 5, 100, 2000, 5000}) {
+                assertEquals(sortMode.name(), sorted.subList(0, Math.min(limit, sorted.size())), limited.list(limit));
+            }
+
+            all.remove(sorted.get(0));
+            limited.remove(sorted.get(0));
+            assertEquals(sortMode.name(), sorted.subList(1, 101), limited.list(100));
+            assertEquals(sortMode.name(), all.list(0), limited.list(0));
+            assertEquals(sortMode.name(), sorted.subList(1, 101), limited.list(100));
+        }
+    }
+
+    @Test
+    public void testTopOfEmptySet() {
+        assertEquals(Collections.emptyList(), list(SortMode.DESCENDING_SMART, new HashSet<String>(), 1));
+    }
+
     @Test
     public void testSortMode_getIsUsingSmartSort() {
         assertFalse(SortMode.NONE.getIsUsingSmartSort());
@@ -78,4 +169,19 @@ public class SortTest {
         assertTrue(SortMode.DESCENDING.getIsSorting());
         assertTrue(SortMode.DESCENDING_SMART.getIsSorting());
     }
+
+    private static List<String> list(SortMode sortMode, Collection<String> names, int limit) {
+        return list(sortMode.getOrdering(), names, limit);
+    }
+
+    /**
+     * Names listed by the sorted names of a snapshot
+     */
+    private static List<String> list(RefOrdering ordering, Collection<String> names, int limit) {
+        RefOrdering.SortedNames sorted = ordering.sortedNames();
+        for (String name : names) {
+            sorted.add(name);
+        }
+        return sorted.list(limit);
+    }
 }
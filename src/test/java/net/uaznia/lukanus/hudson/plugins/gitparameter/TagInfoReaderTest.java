@@ -0,0 +1,45 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TagInfoReaderTest {
+    private static final PersonIdent AUTHOR = new PersonIdent("klimas7", "klimas7@gmail.com", new Date(1523905899000L),
+            TimeZone.getTimeZone("GMT+02:00"));
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testDescribeTags() throws Exception {
+        try (Git git = Git.init().setDirectory(temporaryFolder.getRoot()).call()) {
+            RevCommit commit = git.commit().setMessage("Version 0.9.2\n\nRelease notes\n").setAuthor(AUTHOR).setCommitter(AUTHOR).call();
+            Ref annotated = git.tag().setName("v0.9.2").setAnnotated(true).setTagger(AUTHOR).setObjectId(commit).call();
+            ObjectId annotatedId = annotated.getObjectId();
+            ObjectId missing = ObjectId.fromString("0123456789012345678901234567890123456789");
+
+            Map<ObjectId, String> descriptions = new TagInfoReader(Arrays.asList(annotatedId, commit, missing))
+                    .invoke(git.getRepository(), null);
+
+            assertEquals(3, descriptions.size());
+            assertEquals(annotatedId.getName().substring(0, 7) + " 2018-04-16 21:11 klimas7 <klimas7@gmail.com> Version 0.9.2 Release notes",
+                    descriptions.get(annotatedId));
+            assertEquals(commit.getName().substring(0, 7) + " 2018-04-16 21:11 klimas7 <klimas7@gmail.com> Version 0.9.2 Release notes",
+                    descriptions.get(commit));
+            assertEquals("0123456", descriptions.get(missing));
+        }
+    }
+}
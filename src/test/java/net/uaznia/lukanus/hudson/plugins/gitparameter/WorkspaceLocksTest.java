@@ -0,0 +1,85 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Test;
+
+public class WorkspaceLocksTest {
+
+    @Test
+    public void testSameWorkspaceWaitsAndTimesOut() throws Exception {
+        WorkspaceLocks locks = new WorkspaceLocks(50, TimeUnit.MILLISECONDS);
+        Lock lock = locks.lock("/var/jenkins/workspace/a");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Lock> other = executor.submit(() -> locks.lock("/var/jenkins/workspace/a"));
+            other.get();
+            fail("Lock should not be acquired");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertTrue(e.getCause().getMessage().contains("/var/jenkins/workspace/a"));
+        } finally {
+            lock.unlock();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLockIsReleased() throws Exception {
+        WorkspaceLocks locks = new WorkspaceLocks(50, TimeUnit.MILLISECONDS);
+        locks.lock("/var/jenkins/workspace/a").unlock();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Lock lock = executor.submit(() -> {
+                Lock acquired = locks.lock("/var/jenkins/workspace/a");
+                acquired.unlock();
+                return acquired;
+            }).get();
+            assertNotNull(lock);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWorkspacesWithSameHashDoNotWait() throws Exception {
+        WorkspaceLocks locks = new WorkspaceLocks(50, TimeUnit.MILLISECONDS);
+        assertEquals("/var/jenkins/workspace/Aa".hashCode(), "/var/jenkins/workspace/BB".hashCode());
+        Lock lock = locks.lock("/var/jenkins/workspace/Aa");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                locks.lock("/var/jenkins/workspace/BB").unlock();
+                return null;
+            }).get();
+        } finally {
+            lock.unlock();
+            executor.shutdownNow();
+        }
+        assertEquals(0, locks.size());
+    }
+
+    @Test
+    public void testReentrantLockIsDroppedAfterLastUnlock() throws Exception {
+        WorkspaceLocks locks = new WorkspaceLocks(50, TimeUnit.MILLISECONDS);
+        Lock lock = locks.lock("/var/jenkins/workspace/a");
+        Lock again = locks.lock("/var/jenkins/workspace/a");
+        again.unlock();
+        assertEquals(1, locks.size());
+        lock.unlock();
+        assertEquals(0, locks.size());
+    }
+}
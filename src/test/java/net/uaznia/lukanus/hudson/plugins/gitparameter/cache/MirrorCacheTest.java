@@ -0,0 +1,128 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MirrorCacheTest {
+    private static final String REPOSITORY_A = "https://github.com/klimas7/exampleA.git";
+    private static final String REPOSITORY_B = "https://github.com/klimas7/exampleB.git";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testMirrorIsReused() throws IOException {
+        MirrorCache mirrorCache = new MirrorCache(temporaryFolder.getRoot(), 10);
+        File directory;
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_A)) {
+            directory = mirror.getDirectory();
+            assertTrue(directory.isDirectory());
+            write(directory, 10);
+            mirror.updateSize();
+        }
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_A)) {
+            assertEquals(directory, mirror.getDirectory());
+            assertTrue(new File(directory, ".git/objects.pack").exists());
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedMirrorIsEvicted() throws Exception {
+        MirrorCache mirrorCache = new MirrorCache(temporaryFolder.getRoot(), 1);
+        File directoryA;
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_A)) {
+            directoryA = mirror.getDirectory();
+            write(directoryA, 600 * 1024);
+            mirror.updateSize();
+        }
+        Thread.sleep(10);
+        File directoryB;
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_B)) {
+            directoryB = mirror.getDirectory();
+            write(directoryB, 600 * 1024);
+            mirror.updateSize();
+        }
+
+        assertFalse(directoryA.exists());
+        assertTrue(directoryB.exists());
+        assertEquals(600 * 1024, mirrorCache.getSize());
+    }
+
+    @Test
+    public void testMirrorInUseIsNotEvicted() throws Exception {
+        MirrorCache mirrorCache = new MirrorCache(temporaryFolder.getRoot(), 1);
+        try (MirrorCache.Mirror mirrorA = mirrorCache.acquire(REPOSITORY_A)) {
+            write(mirrorA.getDirectory(), 600 * 1024);
+            mirrorA.updateSize();
+            try (MirrorCache.Mirror mirrorB = mirrorCache.acquire(REPOSITORY_B)) {
+                write(mirrorB.getDirectory(), 600 * 1024);
+                mirrorB.updateSize();
+            }
+            assertTrue(mirrorA.getDirectory().exists());
+        }
+    }
+
+    @Test
+    public void testExistingMirrorsAreLoaded() throws IOException {
+        File directory;
+        try (MirrorCache.Mirror mirror = new MirrorCache(temporaryFolder.getRoot(), 10).acquire(REPOSITORY_A)) {
+            directory = mirror.getDirectory();
+            write(directory, 1024);
+            mirror.updateSize();
+        }
+
+        MirrorCache mirrorCache = new MirrorCache(temporaryFolder.getRoot(), 10);
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_B)) {
+            assertEquals(1024, mirrorCache.getSize());
+        }
+        assertTrue(directory.exists());
+    }
+
+    @Test
+    public void testSizeIsRecordedOnlyAfterUpdate() throws IOException {
+        MirrorCache mirrorCache = new MirrorCache(temporaryFolder.getRoot(), 10);
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_A)) {
+            write(mirror.getDirectory(), 1024);
+        }
+        assertEquals(0, mirrorCache.getSize());
+
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_A)) {
+            mirror.updateSize();
+        }
+        assertEquals(1024, mirrorCache.getSize());
+    }
+
+    @Test
+    public void testSizeIsRecordedOncePerInterval() throws IOException {
+        MirrorCache mirrorCache = new MirrorCache(temporaryFolder.getRoot(), 10);
+        try (MirrorCache.Mirror mirror = mirrorCache.acquire(REPOSITORY_A)) {
+            write(mirror.getDirectory(), 1024);
+            mirror.updateSize();
+            write(mirror.getDirectory(), 2048);
+            mirror.updateSize();
+        }
+        assertEquals(1024, mirrorCache.getSize());
+
+        MirrorCache measuredAlways = new MirrorCache(temporaryFolder.newFolder(), 10, 0);
+        try (MirrorCache.Mirror mirror = measuredAlways.acquire(REPOSITORY_A)) {
+            write(mirror.getDirectory(), 1024);
+            mirror.updateSize();
+            write(mirror.getDirectory(), 2048);
+            mirror.updateSize();
+        }
+        assertEquals(2048, measuredAlways.getSize());
+    }
+
+    private void write(File directory, int size) throws IOException {
+        FileUtils.writeByteArrayToFile(new File(directory, ".git/objects.pack"), new byte[size]);
+    }
+}
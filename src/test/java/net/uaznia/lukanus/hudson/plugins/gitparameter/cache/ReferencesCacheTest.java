@@ -0,0 +1,141 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.uaznia.lukanus.hudson.plugins.gitparameter.model.ItemsErrorModel;
+import org.junit.Test;
+
+public class ReferencesCacheTest {
+
+    @Test
+    public void testValueIsLoadedOnce() {
+        ReferencesCache cache = new ReferencesCache(1, TimeUnit.HOURS, 10);
+        AtomicInteger loads = new AtomicInteger();
+        ItemsErrorModel first = cache.get("key", "job", () -> load(loads, "master"));
+        ItemsErrorModel second = cache.get("key", "job", () -> load(loads, "master"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        ReferencesCache cache = new ReferencesCache(1, TimeUnit.HOURS, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", "job", () -> {
+            loads.incrementAndGet();
+            return ItemsErrorModel.create("default", "error");
+        });
+        cache.get("key", "job", () -> load(loads, "master"));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testStaleValueIsReturnedAndRefreshed() throws InterruptedException {
+        ReferencesCache cache = new ReferencesCache(1, TimeUnit.MILLISECONDS, 10);
+        AtomicInteger loads = new AtomicInteger();
+        ItemsErrorModel first = cache.get("key", "job", () -> load(loads, "master"));
+        Thread.sleep(10);
+
+        ItemsErrorModel stale = cache.get("key", "job", () -> load(loads, "develop"));
+        assertSame(first, stale);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (loads.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testConcurrentLoadsShareOneComputation() throws InterruptedException {
+        ReferencesCache cache = new ReferencesCache(1, TimeUnit.HOURS, 10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<ItemsErrorModel> first = new AtomicReference<>();
+        AtomicReference<ItemsErrorModel> second = new AtomicReference<>();
+
+        Thread loading = new Thread(() -> first.set(cache.get("key", "job", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load(loads, "master");
+        })));
+        loading.start();
+        awaitWaiting(loading);
+        Thread waiting = new Thread(() -> second.set(cache.get("key", "job", () -> load(loads, "develop"))));
+        waiting.start();
+        awaitWaiting(waiting);
+        release.countDown();
+        loading.join();
+        waiting.join();
+
+        assertEquals(1, loads.get());
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    public void testRefreshReplacesValue() {
+        ReferencesCache cache = new ReferencesCache(1, TimeUnit.HOURS, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", "job", () -> load(loads, "master"));
+        cache.refresh("key", "job", () -> load(loads, "develop"));
+
+        assertEquals("develop", cache.getIfFresh("key").get(0).value);
+        assertEquals(2, loads.get());
+
+        ReferencesCache disabled = new ReferencesCache(0, TimeUnit.HOURS, 10);
+        disabled.refresh("key", "job", () -> load(loads, "master"));
+        assertEquals(0, disabled.size());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsRemoved() {
+        ReferencesCache cache = new ReferencesCache(1, TimeUnit.HOURS, 2);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", "job", () -> load(loads, "a"));
+        cache.get("b", "job", () -> load(loads, "b"));
+        cache.get("a", "job", () -> load(loads, "a"));
+        cache.get("c", "job", () -> load(loads, "c"));
+        assertEquals(3, loads.get());
+
+        cache.get("a", "job", () -> load(loads, "a"));
+        assertEquals(3, loads.get());
+        cache.get("b", "job", () -> load(loads, "b"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testDisabledCache() {
+        ReferencesCache cache = new ReferencesCache(0, TimeUnit.SECONDS, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("key", "job", () -> load(loads, "master"));
+        cache.get("key", "job", () -> load(loads, "master"));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private ItemsErrorModel load(AtomicInteger loads, String value) {
+        loads.incrementAndGet();
+        return ItemsErrorModel.create(value);
+    }
+}
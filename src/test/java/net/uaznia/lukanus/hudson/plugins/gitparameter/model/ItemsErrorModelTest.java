@@ -0,0 +1,106 @@
+package net.uaznia.lukanus.hudson.plugins.gitparameter.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class ItemsErrorModelTest {
+
+    @Test
+    public void testPage() {
+        ItemsErrorModel items = create(5);
+        items.addError("error");
+
+        ItemsErrorModel first = items.page(0, 2);
+        assertEquals(2, first.size());
+        assertEquals("value0", first.get(0).value);
+        assertEquals(0, first.getOffset());
+        assertEquals(5, first.getTotal());
+        assertEquals(1, first.getErrors().size());
+
+        ItemsErrorModel last = items.page(4, 2);
+        assertEquals(1, last.size());
+        assertEquals("value4", last.get(0).value);
+        assertEquals(4, last.getOffset());
+        assertEquals(5, last.getTotal());
+        assertTrue(last.getErrors().isEmpty());
+    }
+
+    @Test
+    public void testPageOutOfRange() {
+        ItemsErrorModel items = create(3);
+
+        ItemsErrorModel page = items.page(10, 2);
+        assertEquals(0, page.size());
+        assertEquals(3, page.getOffset());
+        assertEquals(3, page.getTotal());
+    }
+
+    @Test
+    public void testPageWithoutLimit() {
+        ItemsErrorModel items = create(3);
+
+        ItemsErrorModel page = items.page(1, 0);
+        assertEquals(2, page.size());
+        assertEquals(1, page.getOffset());
+        assertEquals(3, page.getTotal());
+    }
+
+    @Test
+    public void testFilter() {
+        ItemsErrorModel items = create(12);
+        items.addError("error");
+
+        ItemsErrorModel matches = items.filter("NAME1", 2);
+        assertEquals(2, matches.size());
+        assertEquals("value1", matches.get(0).value);
+        assertEquals("value10", matches.get(1).value);
+        assertEquals(3, matches.getTotal());
+        assertEquals(1, matches.getErrors().size());
+
+        assertEquals(3, items.filter("name1", 0).size());
+        assertEquals(0, items.filter("value", 0).size());
+        assertEquals(12, items.filter("", 0).size());
+    }
+
+    @Test
+    public void testFilterAfterAdd() {
+        ItemsErrorModel items = create(2);
+        assertEquals(0, items.filter("tag", 0).size());
+
+        items.add("tag");
+        assertEquals(1, items.filter("tag", 0).size());
+    }
+
+    @Test
+    public void testCompactJsonWithoutLabels() throws Exception {
+        ItemsErrorModel items = new ItemsErrorModel();
+        items.add("master");
+        items.add("feature/\"quoted\"");
+
+        StringWriter json = new StringWriter();
+        items.writeJson(json);
+        assertEquals("{\"values\":[\"master\",\"feature/\\\"quoted\\\"\"],\"errors\":[],\"offset\":0,\"total\":2}", json.toString());
+    }
+
+    @Test
+    public void testCompactJsonWithLabels() throws Exception {
+        ItemsErrorModel items = create(2).page(1, 1);
+        items.addError("error");
+
+        StringWriter json = new StringWriter();
+        items.writeJson(json);
+        assertEquals("{\"values\":[\"value1\"],\"labels\":[\"name1\"],\"errors\":[\"error\"],\"offset\":1,\"total\":2}", json.toString());
+    }
+
+    private static ItemsErrorModel create(int size) {
+        ItemsErrorModel items = new ItemsErrorModel();
+        for (int i = 0; i < size; i++) {
+            items.add("name" + i, "value" + i);
+        }
+        return items;
+    }
+}